@@ -1,40 +1,164 @@
 package algorithms;
 
-import gui.Node;
-import gui.GridPanel;
-import javax.swing.*;
-import java.util.*;
+import model.GridModel;
 import java.util.function.Supplier;
 
 public abstract class Algorithm {
-    protected List<Node> getNeighbors(Node[][] grid, Node node) {
-        List<Node> neighbors = new ArrayList<>();
-        int row = node.getRow(), col = node.getCol();
+    // Expansions between stop checks when nothing is being animated
+    static final int HEADLESS_BATCH = 4096;
 
-        if (row > 0) neighbors.add(grid[row - 1][col]);
-        if (row < grid.length - 1) neighbors.add(grid[row + 1][col]);
-        if (col > 0) neighbors.add(grid[row][col - 1]);
-        if (col < grid[0].length - 1) neighbors.add(grid[row][col + 1]);
+    protected int getNeighbors(GridModel grid, int cell, int[] neighbors) {
+        int width = grid.getWidth();
+        int row = grid.rowOf(cell), col = cell - row * width;
+        int count = 0;
 
-        return neighbors;
+        if (row > 0) neighbors[count++] = cell - width;
+        if (row < grid.getHeight() - 1) neighbors[count++] = cell + width;
+        if (col > 0) neighbors[count++] = cell - 1;
+        if (col < width - 1) neighbors[count++] = cell + 1;
+
+        return count;
+    }
+
+    protected int manhattanDistance(GridModel grid, int a, int b) {
+        return Math.abs(grid.rowOf(a) - grid.rowOf(b)) + Math.abs(grid.colOf(a) - grid.colOf(b));
+    }
+
+    protected int[] buildPath(GridModel grid, SearchWorkspace workspace, int start, int end) {
+        int length = 1;
+        for (int cell = end; cell != start; cell = workspace.getParent(cell)) {
+            length++;
+        }
+
+        int[] path = new int[length];
+        int cell = end;
+        for (int i = length - 1; i > 0; i--) {
+            path[i] = cell;
+            cell = workspace.getParent(cell);
+        }
+        path[0] = start;
+        return path;
+    }
+
+    /**
+     * Joins a forward parent chain ending at {@code meetForward} with a backward chain
+     * starting at its neighbour {@code meetBackward}, giving the path from start to end.
+     */
+    protected int[] joinPaths(SearchWorkspace forward, int start, int meetForward,
+                              SearchWorkspace backward, int end, int meetBackward) {
+        int forwardLength = 1, backwardLength = 1;
+        for (int cell = meetForward; cell != start; cell = forward.getParent(cell)) {
+            forwardLength++;
+        }
+        for (int cell = meetBackward; cell != end; cell = backward.getParent(cell)) {
+            backwardLength++;
+        }
+
+        int[] path = new int[forwardLength + backwardLength];
+        int cell = meetForward;
+        for (int i = forwardLength - 1; i >= 0; i--) {
+            path[i] = cell;
+            cell = forward.getParent(cell);
+        }
+        cell = meetBackward;
+        for (int i = forwardLength; i < path.length; i++) {
+            path[i] = cell;
+            cell = backward.getParent(cell);
+        }
+        return path;
+    }
+
+    protected int[] highlightPath(GridModel grid, SearchWorkspace workspace, int start, int end, SearchListener listener) {
+        return highlightPath(buildPath(grid, workspace, start, end), listener);
+    }
+
+    protected int[] highlightPath(int[] path, SearchListener listener) {
+        if (listener != null) {
+            listener.onPath(path);
+        }
+        return path;
+    }
+
+    protected void markSearching(SearchListener listener, int cell) {
+        if (listener != null) {
+            listener.onExpand(cell);
+        }
+    }
+
+    protected void pause(int delay) {
+        if (delay <= 0) return;
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    protected void noPathFound(SearchListener listener) {
+        if (listener != null) {
+            listener.onNoPath();
+        }
     }
 
-    protected void highlightPath(Map<Node, Node> parents, Node start, Node end) {
-        Node current = end;
-        while (current != start) {
-            current.setPath();
-            current = parents.get(current);
+    /**
+     * Searches {@code grid} from {@code start} to {@code end} (row-major cell ids).
+     * {@code listener} may be null to run headless; returns the path from start to
+     * end inclusive, or null when there is none, either end is a wall, or the
+     * search was stopped.
+     */
+    public int[] findPath(GridModel grid, int start, int end, SearchListener listener,
+                          int delay, Supplier<Boolean> stopCondition) {
+        SearchStepper stepper = isBlocked(grid, start, end)
+                ? blockedStepper(listener)
+                : createStepper(grid, start, end, listener, SearchWorkspace.acquire(grid.size()));
+        int batch = delay > 0 ? 1 : HEADLESS_BATCH;
+        while (!stopCondition.get() && stepper.step(batch)) {
+            pause(delay);
         }
+        return stepper.isDone() ? stepper.getPath() : null;
+    }
+
+    /**
+     * Starts a resumable search with its own workspace, so it can be stepped from
+     * any thread and interleaved with other searches on the same thread.
+     */
+    public SearchStepper stepper(GridModel grid, int start, int end, SearchListener listener) {
+        if (isBlocked(grid, start, end)) {
+            return blockedStepper(listener);
+        }
+        SearchWorkspace workspace = new SearchWorkspace();
+        workspace.begin(grid.size());
+        return createStepper(grid, start, end, listener, workspace);
+    }
+
+    private static boolean isBlocked(GridModel grid, int start, int end) {
+        return grid.isWall(start) || grid.isWall(end);
+    }
+
+    // Every algorithm gives the same answer for a walled endpoint: no path
+    private SearchStepper blockedStepper(SearchListener listener) {
+        return new SearchStepper() {
+            @Override
+            protected void expandNext() {
+                noPathFound(listener);
+                finish(null);
+            }
+        };
+    }
+
+    /** False for planners that keep state between queries, which must not run concurrently. */
+    public boolean isThreadSafe() {
+        return true;
     }
 
-    protected void noPathFound() {
-        SwingUtilities.invokeLater(() ->
-                JOptionPane.showMessageDialog(null,
-                        "No path found.",
-                        "Search Complete",
-                        JOptionPane.INFORMATION_MESSAGE));
+    /**
+     * An instance whose state no other caller can touch, for running a planner that
+     * is not thread-safe off to the side; stateless algorithms return themselves.
+     */
+    public Algorithm privateInstance() {
+        return this;
     }
 
-    public abstract void findPath(Node[][] grid, Node start, Node end, GridPanel gridPanel,
-                                  int delay, Supplier<Boolean> stopCondition);
+    protected abstract SearchStepper createStepper(GridModel grid, int start, int end,
+                                                   SearchListener listener, SearchWorkspace workspace);
 }
\ No newline at end of file
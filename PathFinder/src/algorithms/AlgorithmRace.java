@@ -0,0 +1,114 @@
+package algorithms;
+
+import model.GridModel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs several algorithms on one snapshot of a grid at the same time, one thread
+ * each, and measures every run with a {@link MeteredSearch}. With a delay the
+ * runs are paced one expansion per delay so their progress can be watched; the
+ * pauses are not counted as search time. Algorithms that are not
+ * {@link Algorithm#isThreadSafe() thread-safe} race on a private instance, so
+ * the shared planner can keep serving other searches meanwhile.
+ */
+public class AlgorithmRace {
+    private final GridModel grid;
+    private final int start, end;
+    private volatile boolean cancelled;
+
+    public AlgorithmRace(GridModel grid, int start, int end) {
+        this.grid = grid.copy();
+        this.start = start;
+        this.end = end;
+    }
+
+    /** Races {@code algorithms} at full speed and returns their metrics in the same order. */
+    public List<SearchMetrics> run(List<String> algorithms) {
+        ExecutorService executor = Executors.newFixedThreadPool(algorithms.size());
+        try {
+            List<Future<SearchMetrics>> futures = new ArrayList<>();
+            for (String algorithm : algorithms) {
+                futures.add(executor.submit(() -> race(algorithm, null, 0)));
+            }
+            List<SearchMetrics> results = new ArrayList<>();
+            for (Future<SearchMetrics> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Race interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Race failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Starts one daemon thread per algorithm and returns at once. Each run reports
+     * its expansions and path to {@code listeners.apply(name)} (which may return
+     * null) and hands its metrics to {@code onFinish} from its own thread.
+     */
+    public void start(List<String> algorithms, Function<String, SearchListener> listeners,
+                      int delay, Consumer<SearchMetrics> onFinish) {
+        for (String algorithm : algorithms) {
+            SearchListener listener = listeners.apply(algorithm);
+            Thread thread = new Thread(() -> onFinish.accept(race(algorithm, listener, delay)),
+                    "race-" + algorithm);
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    private SearchMetrics race(String algorithm, SearchListener listener, int delay) {
+        Algorithm instance = AlgorithmRegistry.get(algorithm);
+        if (!instance.isThreadSafe()) {
+            instance = instance.privateInstance();
+        }
+        MeteredSearch search = new MeteredSearch(algorithm, instance, grid, start, end,
+                listener == null ? null : new QuietListener(listener));
+        int batch = delay > 0 ? 1 : Algorithm.HEADLESS_BATCH;
+        while (!cancelled && search.step(batch)) {
+            if (delay > 0) {
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        return search.getMetrics();
+    }
+
+    // "No path" is left to the metrics rather than a popup per algorithm
+    private static class QuietListener implements SearchListener {
+        private final SearchListener delegate;
+
+        QuietListener(SearchListener delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onExpand(int cell) {
+            delegate.onExpand(cell);
+        }
+
+        @Override
+        public void onPath(int[] path) {
+            delegate.onPath(path);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package algorithms;
+
+import java.util.*;
+
+/** Display names of every selectable algorithm, in dropdown order. */
+public final class AlgorithmRegistry {
+    private static final Map<String, Algorithm> ALGORITHMS = new LinkedHashMap<>();
+
+    static {
+        ALGORITHMS.put("Dijkstra", DijkstraAlgorithm.getInstance());
+        ALGORITHMS.put("A*", AStarAlgorithm.getInstance());
+        ALGORITHMS.put("Breadth First", BreadthFirstAlgorithm.getInstance());
+        ALGORITHMS.put("Depth First", DepthFirstAlgorithm.getInstance());
+        ALGORITHMS.put("Greedy Best First", GreedyBestFirstAlgorithm.getInstance());
+        ALGORITHMS.put("Jump Point Search", JumpPointSearchAlgorithm.getInstance());
+        ALGORITHMS.put("Bidirectional BFS", BidirectionalBreadthFirstAlgorithm.getInstance());
+        ALGORITHMS.put("Bidirectional A*", BidirectionalAStarAlgorithm.getInstance());
+        ALGORITHMS.put("HPA*", HierarchicalAStarAlgorithm.getInstance());
+        ALGORITHMS.put("D* Lite", DStarLiteAlgorithm.getInstance());
+    }
+
+    private AlgorithmRegistry() {}
+
+    public static Set<String> names() {
+        return Collections.unmodifiableSet(ALGORITHMS.keySet());
+    }
+
+    public static Algorithm get(String name) {
+        Algorithm algorithm = ALGORITHMS.get(name);
+        if (algorithm == null) {
+            throw new IllegalArgumentException("Unknown algorithm: " + name);
+        }
+        return algorithm;
+    }
+}
@@ -0,0 +1,85 @@
+package algorithms;
+
+import model.GridModel;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs many point-to-point queries against one immutable snapshot of a grid.
+ * Queries are split across a {@link ForkJoinPool}; each worker searches with
+ * its own thread-local {@link SearchWorkspace}, so no search state is shared
+ * and throughput grows with the number of workers. Results come back in input
+ * order. Each leaf task searches with its own
+ * {@link Algorithm#privateInstance() private instance}, so planners that keep
+ * state between queries, such as D* Lite, run in parallel too without touching
+ * the shared instance.
+ */
+public class BatchQueryEngine {
+    // Leaves hold several queries so short searches are not dominated by task overhead
+    private static final int TASKS_PER_WORKER = 8;
+
+    private final GridModel grid;
+    private final ForkJoinPool pool;
+
+    public BatchQueryEngine(GridModel grid) {
+        this(grid, ForkJoinPool.commonPool());
+    }
+
+    public BatchQueryEngine(GridModel grid, ForkJoinPool pool) {
+        this.grid = grid.copy();
+        // Settle the lazily computed hash before workers read it through HPA*'s graph check
+        this.grid.contentHash();
+        this.pool = pool;
+    }
+
+    public GridModel getGrid() {
+        return grid;
+    }
+
+    /**
+     * Runs {@code algorithm} for every {@code {start, end}} pair in {@code queries}
+     * and returns the paths in the same order, with null where there is no path.
+     */
+    public int[][] run(Algorithm algorithm, int[][] queries) {
+        for (int[] query : queries) {
+            if (query.length != 2 || query[0] < 0 || query[0] >= grid.size()
+                    || query[1] < 0 || query[1] >= grid.size()) {
+                throw new IllegalArgumentException("Query must be a {start, end} pair of cells in the grid");
+            }
+        }
+
+        int[][] results = new int[queries.length][];
+        int leafSize = Math.max(1, queries.length / (pool.getParallelism() * TASKS_PER_WORKER));
+        pool.invoke(new QueryTask(algorithm, queries, results, 0, queries.length, leafSize));
+        return results;
+    }
+
+    private class QueryTask extends RecursiveAction {
+        private final Algorithm algorithm;
+        private final int[][] queries, results;
+        private final int from, to, leafSize;
+
+        QueryTask(Algorithm algorithm, int[][] queries, int[][] results, int from, int to, int leafSize) {
+            this.algorithm = algorithm;
+            this.queries = queries;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= leafSize) {
+                Algorithm instance = algorithm.privateInstance();
+                for (int i = from; i < to; i++) {
+                    results[i] = instance.findPath(grid, queries[i][0], queries[i][1], null, 0, () -> false);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new QueryTask(algorithm, queries, results, from, middle, leafSize),
+                    new QueryTask(algorithm, queries, results, middle, to, leafSize));
+        }
+    }
+}
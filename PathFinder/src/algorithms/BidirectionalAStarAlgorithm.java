@@ -0,0 +1,108 @@
+package algorithms;
+
+import model.GridModel;
+
+/**
+ * A* run from both endpoints, always expanding the side with the smaller open
+ * set. Every edge that reaches a cell labelled by the other side offers a
+ * candidate path; the best one is optimal once either open set's smallest f
+ * reaches its cost.
+ */
+public class BidirectionalAStarAlgorithm extends Algorithm {
+    private static BidirectionalAStarAlgorithm instance;
+
+    private BidirectionalAStarAlgorithm() {}
+
+    public static BidirectionalAStarAlgorithm getInstance() {
+        if (instance == null) {
+            instance = new BidirectionalAStarAlgorithm();
+        }
+        return instance;
+    }
+
+    @Override
+    protected SearchStepper createStepper(GridModel grid, int start, int end,
+                                          SearchListener listener, SearchWorkspace workspace) {
+        return new Stepper(grid, start, end, listener, workspace);
+    }
+
+    private class Stepper extends SearchStepper {
+        private final GridModel grid;
+        private final int start, end;
+        private final SearchListener listener;
+        private final SearchWorkspace forward, backward;
+        private final int[] neighbors;
+        private int bestCost = Integer.MAX_VALUE, meetForward = -1, meetBackward = -1;
+
+        Stepper(GridModel grid, int start, int end, SearchListener listener, SearchWorkspace workspace) {
+            this.grid = grid;
+            this.start = start;
+            this.end = end;
+            this.listener = listener;
+            this.forward = workspace;
+            this.backward = workspace.reverse();
+            this.neighbors = workspace.neighbors();
+
+            if (start == end) {
+                finish(highlightPath(new int[]{start}, listener));
+                return;
+            }
+            forward.setDistance(start, 0);
+            forward.heap().push(start, ShortestPathAlgorithm.priority(0, manhattanDistance(grid, start, end)));
+            backward.setDistance(end, 0);
+            backward.heap().push(end, ShortestPathAlgorithm.priority(0, manhattanDistance(grid, end, start)));
+        }
+
+        @Override
+        protected int openSetSize() {
+            return forward.heap().size() + backward.heap().size();
+        }
+
+        @Override
+        protected void expandNext() {
+            boolean exhausted = forward.heap().isEmpty() || backward.heap().isEmpty();
+            if (bestCost != Integer.MAX_VALUE && (exhausted ||
+                    Math.max(forward.heap().peekKey() >>> 32, backward.heap().peekKey() >>> 32) >= bestCost)) {
+                finish(highlightPath(joinPaths(forward, start, meetForward,
+                        backward, end, meetBackward), listener));
+                return;
+            }
+            if (exhausted) {
+                noPathFound(listener);
+                finish(null);
+                return;
+            }
+
+            boolean expandForward = forward.heap().size() <= backward.heap().size();
+            SearchWorkspace side = expandForward ? forward : backward;
+            SearchWorkspace other = expandForward ? backward : forward;
+            int target = expandForward ? end : start;
+
+            int current = side.heap().pop();
+            countPop();
+            int newCost = side.getDistance(current) + 1;
+
+            markSearching(listener, current);
+
+            int count = getNeighbors(grid, current, neighbors);
+            for (int i = 0; i < count; i++) {
+                int neighbor = neighbors[i];
+                if (grid.isWall(neighbor)) continue;
+                countGenerated();
+
+                if (other.isVisited(neighbor) && newCost + other.getDistance(neighbor) < bestCost) {
+                    bestCost = newCost + other.getDistance(neighbor);
+                    meetForward = expandForward ? current : neighbor;
+                    meetBackward = expandForward ? neighbor : current;
+                }
+                if (newCost < side.getDistance(neighbor)) {
+                    side.setDistance(neighbor, newCost);
+                    side.setParent(neighbor, current);
+                    side.heap().push(neighbor,
+                            ShortestPathAlgorithm.priority(newCost, manhattanDistance(grid, neighbor, target)));
+                    countPush();
+                }
+            }
+        }
+    }
+}
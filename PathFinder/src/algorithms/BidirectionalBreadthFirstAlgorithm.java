@@ -0,0 +1,125 @@
+package algorithms;
+
+import model.GridModel;
+
+/**
+ * Breadth-first search grown from both endpoints, one whole level at a time on
+ * the smaller frontier. Once a level touches the other side, the cheapest
+ * meeting edge seen in that level gives the shortest path.
+ */
+public class BidirectionalBreadthFirstAlgorithm extends Algorithm {
+    private static BidirectionalBreadthFirstAlgorithm instance;
+
+    private BidirectionalBreadthFirstAlgorithm() {}
+
+    public static BidirectionalBreadthFirstAlgorithm getInstance() {
+        if (instance == null) {
+            instance = new BidirectionalBreadthFirstAlgorithm();
+        }
+        return instance;
+    }
+
+    private static class Frontier {
+        final SearchWorkspace workspace;
+        int[] queue;
+        int head, tail;
+
+        Frontier(SearchWorkspace workspace, int origin) {
+            this.workspace = workspace;
+            this.queue = workspace.queue();
+            workspace.setDistance(origin, 0);
+            queue[tail++] = origin;
+        }
+
+        boolean isEmpty() { return head == tail; }
+        int size() { return tail - head; }
+    }
+
+    @Override
+    protected SearchStepper createStepper(GridModel grid, int start, int end,
+                                          SearchListener listener, SearchWorkspace workspace) {
+        return new Stepper(grid, start, end, listener, workspace);
+    }
+
+    private class Stepper extends SearchStepper {
+        private final GridModel grid;
+        private final int start, end;
+        private final SearchListener listener;
+        private final Frontier forward, backward;
+        private final int[] neighbors;
+        private Frontier side;
+        private int levelEnd;
+        private int bestCost = Integer.MAX_VALUE, meetForward = -1, meetBackward = -1;
+
+        Stepper(GridModel grid, int start, int end, SearchListener listener, SearchWorkspace workspace) {
+            this.grid = grid;
+            this.start = start;
+            this.end = end;
+            this.listener = listener;
+            this.forward = new Frontier(workspace, start);
+            this.backward = new Frontier(workspace.reverse(), end);
+            this.neighbors = workspace.neighbors();
+
+            if (start == end) {
+                finish(highlightPath(new int[]{start}, listener));
+            }
+        }
+
+        @Override
+        protected int openSetSize() {
+            return forward.size() + backward.size();
+        }
+
+        @Override
+        protected void expandNext() {
+            if (side == null) {
+                if (bestCost != Integer.MAX_VALUE) {
+                    finish(highlightPath(joinPaths(forward.workspace, start, meetForward,
+                            backward.workspace, end, meetBackward), listener));
+                    return;
+                }
+                if (forward.isEmpty() || backward.isEmpty()) {
+                    noPathFound(listener);
+                    finish(null);
+                    return;
+                }
+                side = forward.size() <= backward.size() ? forward : backward;
+                levelEnd = side.tail;
+            }
+
+            boolean expandForward = side == forward;
+            SearchWorkspace other = expandForward ? backward.workspace : forward.workspace;
+            int current = side.queue[side.head++];
+            countPop();
+            int newCost = side.workspace.getDistance(current) + 1;
+
+            markSearching(listener, current);
+
+            int count = getNeighbors(grid, current, neighbors);
+            for (int i = 0; i < count; i++) {
+                int neighbor = neighbors[i];
+                if (grid.isWall(neighbor)) continue;
+                countGenerated();
+
+                if (other.isVisited(neighbor) && newCost + other.getDistance(neighbor) < bestCost) {
+                    bestCost = newCost + other.getDistance(neighbor);
+                    meetForward = expandForward ? current : neighbor;
+                    meetBackward = expandForward ? neighbor : current;
+                }
+                if (!side.workspace.isVisited(neighbor)) {
+                    side.workspace.setDistance(neighbor, newCost);
+                    side.workspace.setParent(neighbor, current);
+                    if (side.tail == side.queue.length) {
+                        side.queue = side.workspace.growQueue();
+                    }
+                    side.queue[side.tail++] = neighbor;
+                    countPush();
+                }
+            }
+
+            if (side.head == levelEnd) {
+                side = null;
+            }
+        }
+    }
+}
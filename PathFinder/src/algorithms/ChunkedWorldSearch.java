@@ -0,0 +1,128 @@
+package algorithms;
+
+import model.ChunkedWorld;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A* over a {@link ChunkedWorld}, crossing chunk boundaries like any other
+ * step. Cells get dense ids as the search reaches them, through per-chunk id
+ * pages, so its memory grows with the area explored rather than with the world.
+ * Reuse one instance for many queries to keep its arrays; not thread-safe.
+ *
+ * The world is unbounded, so every query has an expansion budget; coordinates
+ * must stay within +/-2^29 so path costs fit in an int.
+ */
+public class ChunkedWorldSearch {
+    private static final int PAGE_SIZE = ChunkedWorld.CHUNK_SIZE * ChunkedWorld.CHUNK_SIZE;
+    private static final int[] DX = {1, 0, -1, 0}, DY = {0, 1, 0, -1};
+
+    private final IndexedHeap openSet = new IndexedHeap(1024);
+    // Per id: packed (x, y), distance from the start, parent id and whether it was expanded
+    private long[] positions = new long[1024];
+    private int[] distances = new int[1024], parents = new int[1024];
+    private boolean[] closed = new boolean[1024];
+    private int count;
+    // Id + 1 of every reached cell, one page per chunk; 0 means not reached yet
+    private final Map<Long, int[]> pages = new HashMap<>();
+    private long lastPageKey;
+    private int[] lastPage;
+    private int expanded;
+
+    /**
+     * The path from start to goal inclusive as {x0, y0, x1, y1, ...}, or null when
+     * either end is a wall, the goal is unreachable, or the search expands more
+     * than {@code maxExpansions} cells first.
+     */
+    public int[] findPath(ChunkedWorld world, int startX, int startY, int goalX, int goalY, int maxExpansions) {
+        reset();
+        if (world.isWall(startX, startY) || world.isWall(goalX, goalY)) {
+            return null;
+        }
+        int start = idOf(startX, startY);
+        distances[start] = 0;
+        parents[start] = -1;
+        openSet.push(start, ShortestPathAlgorithm.priority(0, heuristic(startX, startY, goalX, goalY)));
+
+        while (!openSet.isEmpty() && expanded < maxExpansions) {
+            int current = openSet.pop();
+            closed[current] = true;
+            expanded++;
+            int x = (int) (positions[current] >> 32), y = (int) positions[current];
+            if (x == goalX && y == goalY) {
+                return path(current);
+            }
+
+            int newCost = distances[current] + 1;
+            for (int d = 0; d < 4; d++) {
+                int nx = x + DX[d], ny = y + DY[d];
+                if (world.isWall(nx, ny)) continue;
+                int neighbor = idOf(nx, ny);
+                if (closed[neighbor]) continue;
+                if (newCost < distances[neighbor]) {
+                    distances[neighbor] = newCost;
+                    parents[neighbor] = current;
+                    openSet.push(neighbor, ShortestPathAlgorithm.priority(newCost, heuristic(nx, ny, goalX, goalY)));
+                }
+            }
+        }
+        return null;
+    }
+
+    /** Cells expanded by the last query. */
+    public int getExpanded() { return expanded; }
+    /** Cells the last query reached, expanded or queued. */
+    public int getReached() { return count; }
+
+    private void reset() {
+        openSet.clear();
+        pages.clear();
+        lastPage = null;
+        count = 0;
+        expanded = 0;
+    }
+
+    private int idOf(int x, int y) {
+        long key = ((long) (x >> ChunkedWorld.CHUNK_SHIFT) << 32) | ((y >> ChunkedWorld.CHUNK_SHIFT) & 0xFFFFFFFFL);
+        int[] page = lastPage;
+        if (page == null || key != lastPageKey) {
+            page = pages.computeIfAbsent(key, k -> new int[PAGE_SIZE]);
+            lastPage = page;
+            lastPageKey = key;
+        }
+        int slot = ((y & (ChunkedWorld.CHUNK_SIZE - 1)) << ChunkedWorld.CHUNK_SHIFT) | (x & (ChunkedWorld.CHUNK_SIZE - 1));
+        if (page[slot] == 0) {
+            if (count == positions.length) {
+                int capacity = count * 2;
+                positions = Arrays.copyOf(positions, capacity);
+                distances = Arrays.copyOf(distances, capacity);
+                parents = Arrays.copyOf(parents, capacity);
+                closed = Arrays.copyOf(closed, capacity);
+            }
+            openSet.ensureCapacity(count + 1);
+            positions[count] = ((long) x << 32) | (y & 0xFFFFFFFFL);
+            distances[count] = Integer.MAX_VALUE;
+            closed[count] = false;
+            page[slot] = ++count;
+        }
+        return page[slot] - 1;
+    }
+
+    private int[] path(int goal) {
+        int length = 0;
+        for (int id = goal; id >= 0; id = parents[id]) {
+            length++;
+        }
+        int[] path = new int[2 * length];
+        for (int id = goal, i = length - 1; id >= 0; id = parents[id], i--) {
+            path[2 * i] = (int) (positions[id] >> 32);
+            path[2 * i + 1] = (int) positions[id];
+        }
+        return path;
+    }
+
+    private static int heuristic(int x, int y, int goalX, int goalY) {
+        return Math.abs(x - goalX) + Math.abs(y - goalY);
+    }
+}
@@ -0,0 +1,290 @@
+package algorithms;
+
+import model.GridModel;
+import java.util.Arrays;
+
+/**
+ * Abstract graph for hierarchical pathfinding. The grid is cut into square
+ * clusters; each open run along a shared border contributes one or two
+ * entrance pairs, and every cluster stores the in-cluster distances between its
+ * entrance cells. Instances are immutable: {@link #update(GridModel)} returns a
+ * new graph that only rebuilds the clusters around cells that changed.
+ */
+public class ClusterGraph {
+    static final int RIGHT = 1, LEFT = 2, DOWN = 4, UP = 8;
+    private static final int LONG_ENTRANCE = 6;
+
+    final GridModel grid;
+    final long contentHash;
+    final int clusterSize, clusterCols, clusterRows;
+    // Per cluster: cells on its right (bottom) edge paired with cell + 1 (cell + width)
+    private final int[][] rightTransitions;
+    private final int[][] downTransitions;
+    private final Cluster[] clusters;
+
+    static class Cluster {
+        final int row0, col0, rows, cols;
+        final int[] nodes;
+        final int[] flags;
+        final int[] distances;
+
+        Cluster(int row0, int col0, int rows, int cols, int[] nodes, int[] flags, int[] distances) {
+            this.row0 = row0;
+            this.col0 = col0;
+            this.rows = rows;
+            this.cols = cols;
+            this.nodes = nodes;
+            this.flags = flags;
+            this.distances = distances;
+        }
+
+        int indexOf(int cell) {
+            return Arrays.binarySearch(nodes, cell);
+        }
+
+        /** In-cluster distance between nodes {@code i} and {@code j}, or -1 if they are not connected. */
+        int distance(int i, int j) {
+            return distances[i * nodes.length + j];
+        }
+    }
+
+    private ClusterGraph(GridModel grid, int clusterSize, int[][] rightTransitions,
+                         int[][] downTransitions, Cluster[] clusters) {
+        this.grid = grid;
+        this.contentHash = grid.contentHash();
+        this.clusterSize = clusterSize;
+        this.clusterCols = (grid.getWidth() + clusterSize - 1) / clusterSize;
+        this.clusterRows = (grid.getHeight() + clusterSize - 1) / clusterSize;
+        this.rightTransitions = rightTransitions;
+        this.downTransitions = downTransitions;
+        this.clusters = clusters;
+    }
+
+    public static ClusterGraph build(GridModel source, int clusterSize) {
+        GridModel grid = source.copy();
+        int clusterCols = (grid.getWidth() + clusterSize - 1) / clusterSize;
+        int clusterRows = (grid.getHeight() + clusterSize - 1) / clusterSize;
+        int count = clusterCols * clusterRows;
+
+        ClusterGraph graph = new ClusterGraph(grid, clusterSize,
+                new int[count][], new int[count][], new Cluster[count]);
+        for (int cluster = 0; cluster < count; cluster++) {
+            graph.rightTransitions[cluster] = graph.findTransitions(cluster, true);
+            graph.downTransitions[cluster] = graph.findTransitions(cluster, false);
+        }
+        ClusterSearch search = new ClusterSearch(clusterSize);
+        for (int cluster = 0; cluster < count; cluster++) {
+            graph.clusters[cluster] = graph.buildCluster(cluster, search);
+        }
+        return graph;
+    }
+
+    /** Returns a graph for {@code source}, rebuilding only clusters next to changed cells. */
+    public ClusterGraph update(GridModel source) {
+        if (source.getWidth() != grid.getWidth() || source.getHeight() != grid.getHeight()) {
+            return build(source, clusterSize);
+        }
+
+        boolean[] dirty = new boolean[clusters.length];
+        boolean[] changed = new boolean[1];
+        source.forEachChangedCell(grid, cell -> {
+            dirty[clusterOf(cell)] = true;
+            changed[0] = true;
+        });
+        if (!changed[0]) {
+            return this;
+        }
+
+        ClusterGraph next = new ClusterGraph(source.copy(), clusterSize, rightTransitions.clone(),
+                downTransitions.clone(), clusters.clone());
+        boolean[] rebuild = new boolean[clusters.length];
+        for (int cluster = 0; cluster < clusters.length; cluster++) {
+            if (!dirty[cluster]) continue;
+            int row = cluster / clusterCols, col = cluster % clusterCols;
+            next.rightTransitions[cluster] = next.findTransitions(cluster, true);
+            next.downTransitions[cluster] = next.findTransitions(cluster, false);
+            rebuild[cluster] = true;
+            if (col > 0) {
+                next.rightTransitions[cluster - 1] = next.findTransitions(cluster - 1, true);
+                rebuild[cluster - 1] = true;
+            }
+            if (row > 0) {
+                next.downTransitions[cluster - clusterCols] = next.findTransitions(cluster - clusterCols, false);
+                rebuild[cluster - clusterCols] = true;
+            }
+            if (col < clusterCols - 1) rebuild[cluster + 1] = true;
+            if (row < clusterRows - 1) rebuild[cluster + clusterCols] = true;
+        }
+
+        ClusterSearch search = new ClusterSearch(clusterSize);
+        for (int cluster = 0; cluster < clusters.length; cluster++) {
+            if (rebuild[cluster]) {
+                next.clusters[cluster] = next.buildCluster(cluster, search);
+            }
+        }
+        return next;
+    }
+
+    /** True when {@code source} has the walls this graph was built for, judged by content hash. */
+    public boolean matches(GridModel source) {
+        return source.getWidth() == grid.getWidth() && source.getHeight() == grid.getHeight()
+                && source.contentHash() == contentHash;
+    }
+
+    int clusterOf(int cell) {
+        int width = grid.getWidth();
+        int row = cell / width, col = cell - row * width;
+        return (row / clusterSize) * clusterCols + col / clusterSize;
+    }
+
+    Cluster cluster(int index) {
+        return clusters[index];
+    }
+
+    private int[] findTransitions(int cluster, boolean right) {
+        int clusterRow = cluster / clusterCols, clusterCol = cluster % clusterCols;
+        if (right ? clusterCol == clusterCols - 1 : clusterRow == clusterRows - 1) {
+            return new int[0];
+        }
+
+        int row0 = clusterRow * clusterSize, col0 = clusterCol * clusterSize;
+        int length = right ? Math.min(clusterSize, grid.getHeight() - row0)
+                : Math.min(clusterSize, grid.getWidth() - col0);
+        int step = right ? grid.getWidth() : 1;
+        int across = right ? 1 : grid.getWidth();
+        int first = right ? grid.cellId(row0, col0 + clusterSize - 1) : grid.cellId(row0 + clusterSize - 1, col0);
+
+        int[] transitions = new int[length];
+        int count = 0, runStart = -1;
+        for (int i = 0; i <= length; i++) {
+            int cell = first + i * step;
+            boolean open = i < length && !grid.isWall(cell) && !grid.isWall(cell + across);
+            if (open && runStart < 0) {
+                runStart = i;
+            } else if (!open && runStart >= 0) {
+                int runEnd = i - 1;
+                if (runEnd - runStart + 1 >= LONG_ENTRANCE) {
+                    transitions[count++] = first + runStart * step;
+                    transitions[count++] = first + runEnd * step;
+                } else {
+                    transitions[count++] = first + ((runStart + runEnd) / 2) * step;
+                }
+                runStart = -1;
+            }
+        }
+        return Arrays.copyOf(transitions, count);
+    }
+
+    private Cluster buildCluster(int cluster, ClusterSearch search) {
+        int clusterRow = cluster / clusterCols, clusterCol = cluster % clusterCols;
+        int row0 = clusterRow * clusterSize, col0 = clusterCol * clusterSize;
+        int rows = Math.min(clusterSize, grid.getHeight() - row0);
+        int cols = Math.min(clusterSize, grid.getWidth() - col0);
+
+        // Pack (cell, side) pairs so sorting groups a cell's sides together
+        long[] entries = new long[4 * clusterSize];
+        int count = 0;
+        for (int cell : rightTransitions[cluster]) entries[count++] = (long) cell << 4 | RIGHT;
+        for (int cell : downTransitions[cluster]) entries[count++] = (long) cell << 4 | DOWN;
+        if (clusterCol > 0) {
+            for (int cell : rightTransitions[cluster - 1]) entries[count++] = (long) (cell + 1) << 4 | LEFT;
+        }
+        if (clusterRow > 0) {
+            for (int cell : downTransitions[cluster - clusterCols]) {
+                entries[count++] = (long) (cell + grid.getWidth()) << 4 | UP;
+            }
+        }
+        Arrays.sort(entries, 0, count);
+
+        int[] nodes = new int[count];
+        int[] flags = new int[count];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            int cell = (int) (entries[i] >>> 4);
+            if (size > 0 && nodes[size - 1] == cell) {
+                flags[size - 1] |= (int) (entries[i] & 15);
+            } else {
+                nodes[size] = cell;
+                flags[size++] = (int) (entries[i] & 15);
+            }
+        }
+        nodes = Arrays.copyOf(nodes, size);
+        flags = Arrays.copyOf(flags, size);
+
+        int[] distances = new int[size * size];
+        for (int i = 0; i < size; i++) {
+            search.run(grid, row0, col0, rows, cols, nodes[i]);
+            for (int j = 0; j < size; j++) {
+                distances[i * size + j] = search.distanceTo(nodes[j]);
+            }
+        }
+        return new Cluster(row0, col0, rows, cols, nodes, flags, distances);
+    }
+
+    /** Breadth-first search confined to one cluster's rectangle, on cluster-local arrays. */
+    static class ClusterSearch {
+        private final int[] distances, parents, queue;
+        private GridModel grid;
+        private int row0, col0, rows, cols;
+
+        ClusterSearch(int clusterSize) {
+            distances = new int[clusterSize * clusterSize];
+            parents = new int[clusterSize * clusterSize];
+            queue = new int[clusterSize * clusterSize];
+        }
+
+        void run(GridModel grid, int row0, int col0, int rows, int cols, int source) {
+            this.grid = grid;
+            this.row0 = row0;
+            this.col0 = col0;
+            this.rows = rows;
+            this.cols = cols;
+            Arrays.fill(distances, 0, rows * cols, -1);
+
+            int head = 0, tail = 0;
+            int origin = local(source);
+            distances[origin] = 0;
+            queue[tail++] = origin;
+            while (head < tail) {
+                int current = queue[head++];
+                int row = current / cols, col = current - row * cols;
+                if (row > 0) tail = visit(current, current - cols, tail);
+                if (row < rows - 1) tail = visit(current, current + cols, tail);
+                if (col > 0) tail = visit(current, current - 1, tail);
+                if (col < cols - 1) tail = visit(current, current + 1, tail);
+            }
+        }
+
+        private int visit(int from, int to, int tail) {
+            if (distances[to] < 0 && !grid.isWall(global(to))) {
+                distances[to] = distances[from] + 1;
+                parents[to] = from;
+                queue[tail++] = to;
+            }
+            return tail;
+        }
+
+        int distanceTo(int cell) {
+            return distances[local(cell)];
+        }
+
+        /** Path from the last source to {@code cell}, both inclusive, or null if unreachable. */
+        int[] pathTo(int cell) {
+            int target = local(cell);
+            if (distances[target] < 0) return null;
+            int[] path = new int[distances[target] + 1];
+            for (int i = path.length - 1, c = target; i >= 0; i--, c = parents[c]) {
+                path[i] = global(c);
+            }
+            return path;
+        }
+
+        private int local(int cell) {
+            return (grid.rowOf(cell) - row0) * cols + grid.colOf(cell) - col0;
+        }
+
+        private int global(int local) {
+            return grid.cellId(row0 + local / cols, col0 + local % cols);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package algorithms;
+
+import model.GridModel;
+import java.util.Arrays;
+
+/**
+ * D* Lite: an incremental A* that searches backward from the end and keeps its
+ * g/rhs values between queries. Each query diffs the grid against the one
+ * planned on last time and repairs only the cells around changed walls, and a
+ * moved start only bumps the key modifier, so replanning after a small edit or
+ * while dragging the start touches a fraction of the cells a fresh search would.
+ * Moving the end restarts the planner. A newer query supersedes an unfinished one.
+ */
+public class DStarLiteAlgorithm extends Algorithm {
+    private static final int INF = 1 << 29;
+    // Past this the key modifier could push keys out of int range, so start over
+    private static final int MAX_KEY_MODIFIER = 1 << 28;
+    private static DStarLiteAlgorithm instance;
+
+    private GridModel known;
+    private int[] g, rhs;
+    private IndexedHeap openSet;
+    private final int[] neighbors = new int[4];
+    private final int[] changedNeighbors = new int[4];
+    private final int[] expandedNeighbors = new int[4];
+    private int start, goal, keyModifier;
+    private Stepper active;
+
+    private DStarLiteAlgorithm() {}
+
+    public static DStarLiteAlgorithm getInstance() {
+        if (instance == null) {
+            instance = new DStarLiteAlgorithm();
+        }
+        return instance;
+    }
+
+    @Override
+    protected SearchStepper createStepper(GridModel grid, int start, int end,
+                                          SearchListener listener, SearchWorkspace workspace) {
+        synchronized (this) {
+            prepare(grid, start, end);
+            active = new Stepper(listener);
+            return active;
+        }
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+        return false;
+    }
+
+    @Override
+    public Algorithm privateInstance() {
+        return new DStarLiteAlgorithm();
+    }
+
+    /** Brings the plan up to date for this query and returns the path, or null when there is none. */
+    public synchronized int[] replan(GridModel grid, int start, int end) {
+        prepare(grid, start, end);
+        active = null;
+        while (!isConsistent()) {
+            expand(null);
+        }
+        return extractPath();
+    }
+
+    private void prepare(GridModel grid, int start, int end) {
+        if (known == null || known.getWidth() != grid.getWidth() || known.getHeight() != grid.getHeight()
+                || end != goal || keyModifier > MAX_KEY_MODIFIER) {
+            initialize(grid, start, end);
+            return;
+        }
+
+        keyModifier += manhattanDistance(grid, this.start, start);
+        this.start = start;
+        GridModel previous = known;
+        known = grid.copy();
+        grid.forEachChangedCell(previous, cell -> {
+            updateVertex(cell);
+            int count = getNeighbors(known, cell, changedNeighbors);
+            for (int i = 0; i < count; i++) {
+                updateVertex(changedNeighbors[i]);
+            }
+        });
+    }
+
+    private void initialize(GridModel grid, int start, int end) {
+        known = grid.copy();
+        int size = grid.size();
+        if (g == null || g.length != size) {
+            g = new int[size];
+            rhs = new int[size];
+            openSet = new IndexedHeap(size);
+        } else {
+            openSet.clear();
+        }
+        Arrays.fill(g, INF);
+        Arrays.fill(rhs, INF);
+        this.start = start;
+        this.goal = end;
+        keyModifier = 0;
+        rhs[end] = 0;
+        openSet.push(end, key(end));
+    }
+
+    private long key(int cell) {
+        int best = Math.min(g[cell], rhs[cell]);
+        return (long) (best + manhattanDistance(known, start, cell) + keyModifier) << 32 | best;
+    }
+
+    private boolean isConsistent() {
+        return openSet.isEmpty() || (openSet.peekKey() >= key(start) && rhs[start] == g[start]);
+    }
+
+    private void updateVertex(int cell) {
+        if (cell != goal) {
+            int best = INF;
+            if (!known.isWall(cell)) {
+                int count = getNeighbors(known, cell, neighbors);
+                for (int i = 0; i < count; i++) {
+                    int neighbor = neighbors[i];
+                    if (!known.isWall(neighbor) && g[neighbor] + 1 < best) {
+                        best = g[neighbor] + 1;
+                    }
+                }
+            }
+            rhs[cell] = best;
+        }
+        openSet.remove(cell);
+        if (g[cell] != rhs[cell]) {
+            openSet.push(cell, key(cell));
+            if (active != null) active.countPush();
+        }
+    }
+
+    private void expand(SearchListener listener) {
+        long oldKey = openSet.peekKey();
+        int cell = openSet.pop();
+        if (active != null) active.countPop();
+        long newKey = key(cell);
+        if (oldKey < newKey) {
+            openSet.push(cell, newKey);
+            if (active != null) active.countPush();
+            return;
+        }
+
+        markSearching(listener, cell);
+        if (g[cell] > rhs[cell]) {
+            g[cell] = rhs[cell];
+        } else {
+            g[cell] = INF;
+            updateVertex(cell);
+        }
+        int count = getNeighbors(known, cell, expandedNeighbors);
+        for (int i = 0; i < count; i++) {
+            if (active != null && !known.isWall(expandedNeighbors[i])) active.countGenerated();
+            updateVertex(expandedNeighbors[i]);
+        }
+    }
+
+    // Walks downhill in g from the start; every step lowers g by exactly one on a consistent plan
+    private int[] extractPath() {
+        if (known.isWall(start) || g[start] >= INF) {
+            return null;
+        }
+        int[] path = new int[g[start] + 1];
+        path[0] = start;
+        for (int i = 1, cell = start; i < path.length; i++) {
+            int count = getNeighbors(known, cell, neighbors);
+            int next = -1;
+            for (int n = 0; n < count; n++) {
+                int neighbor = neighbors[n];
+                if (!known.isWall(neighbor) && (next < 0 || g[neighbor] < g[next])) {
+                    next = neighbor;
+                }
+            }
+            cell = next;
+            path[i] = cell;
+        }
+        return path;
+    }
+
+    private class Stepper extends SearchStepper {
+        private final SearchListener listener;
+
+        Stepper(SearchListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        protected int openSetSize() {
+            return openSet.size();
+        }
+
+        @Override
+        protected void expandNext() {
+            synchronized (DStarLiteAlgorithm.this) {
+                if (active != this) {
+                    finish(null);
+                    return;
+                }
+                if (!isConsistent()) {
+                    expand(listener);
+                    return;
+                }
+                int[] path = extractPath();
+                if (path == null) {
+                    noPathFound(listener);
+                    finish(null);
+                } else {
+                    finish(highlightPath(path, listener));
+                }
+            }
+        }
+    }
+}
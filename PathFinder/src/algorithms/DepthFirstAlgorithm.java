@@ -1,9 +1,6 @@
 package algorithms;
 
-import gui.Node;
-import gui.GridPanel;
-import java.util.*;
-import java.util.function.Supplier;
+import model.GridModel;
 
 public class DepthFirstAlgorithm extends Algorithm {
     private static DepthFirstAlgorithm instance;
@@ -18,42 +15,71 @@ public class DepthFirstAlgorithm extends Algorithm {
     }
 
     @Override
-    public void findPath(Node[][] grid, Node start, Node end, GridPanel gridPanel,
-                         int delay, Supplier<Boolean> stopCondition) {
-        Stack<Node> stack = new Stack<>();
-        Map<Node, Node> parents = new HashMap<>();
-        Set<Node> visited = new HashSet<>();
+    protected SearchStepper createStepper(GridModel grid, int start, int end,
+                                          SearchListener listener, SearchWorkspace workspace) {
+        return new Stepper(grid, start, end, listener, workspace);
+    }
 
-        stack.push(start);
-        visited.add(start);
+    private class Stepper extends SearchStepper {
+        private final GridModel grid;
+        private final int start, end;
+        private final SearchListener listener;
+        private final SearchWorkspace workspace;
+        private int[] stack;
+        private final int[] neighbors;
+        private int top;
 
-        while (!stack.isEmpty() && !stopCondition.get()) {
-            Node current = stack.pop();
+        Stepper(GridModel grid, int start, int end, SearchListener listener, SearchWorkspace workspace) {
+            this.grid = grid;
+            this.start = start;
+            this.end = end;
+            this.listener = listener;
+            this.workspace = workspace;
+            this.stack = workspace.queue();
+            this.neighbors = workspace.neighbors();
 
-            gridPanel.setCurrentlySearching(current);
+            stack[top++] = start;
+            workspace.visit(start);
+        }
 
-            if (current == end) {
-                highlightPath(parents, start, end);
+        @Override
+        protected int openSetSize() {
+            return top;
+        }
+
+        @Override
+        protected void expandNext() {
+            if (top == 0) {
+                noPathFound(listener);
+                finish(null);
                 return;
             }
 
-            for (Node neighbor : getNeighbors(grid, current)) {
-                if (!visited.contains(neighbor) && !neighbor.isWall()) {
-                    visited.add(neighbor);
-                    parents.put(neighbor, current);
-                    stack.push(neighbor);
-                }
-            }
+            int current = stack[--top];
+            countPop();
 
-            try {
-                Thread.sleep(delay);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+            markSearching(listener, current);
+
+            if (current == end) {
+                finish(highlightPath(grid, workspace, start, end, listener));
+                return;
             }
-        }
 
-        if (!stopCondition.get()) {
-            noPathFound();
+            int count = getNeighbors(grid, current, neighbors);
+            for (int i = 0; i < count; i++) {
+                int neighbor = neighbors[i];
+                if (grid.isWall(neighbor)) continue;
+                countGenerated();
+                if (!workspace.isVisited(neighbor)) {
+                    workspace.visit(neighbor);
+                    workspace.setParent(neighbor, current);
+                    if (top == stack.length) {
+                        stack = workspace.growQueue();
+                    }
+                    stack[top++] = neighbor;
+                    countPush();
+                }
+            }
         }
     }
 }
\ No newline at end of file
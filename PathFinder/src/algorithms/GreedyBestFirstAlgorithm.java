@@ -1,9 +1,6 @@
 package algorithms;
 
-import gui.Node;
-import gui.GridPanel;
-import java.util.*;
-import java.util.function.Supplier;
+import model.GridModel;
 
 public class GreedyBestFirstAlgorithm extends Algorithm {
     private static GreedyBestFirstAlgorithm instance;
@@ -17,59 +14,68 @@ public class GreedyBestFirstAlgorithm extends Algorithm {
         return instance;
     }
 
-    protected static class NodeWrapper {
-        Node node;
-        int cost;
+    @Override
+    protected SearchStepper createStepper(GridModel grid, int start, int end,
+                                          SearchListener listener, SearchWorkspace workspace) {
+        return new Stepper(grid, start, end, listener, workspace);
+    }
+
+    private class Stepper extends SearchStepper {
+        private final GridModel grid;
+        private final int start, end;
+        private final SearchListener listener;
+        private final SearchWorkspace workspace;
+        private final IndexedHeap openSet;
+        private final int[] neighbors;
+
+        Stepper(GridModel grid, int start, int end, SearchListener listener, SearchWorkspace workspace) {
+            this.grid = grid;
+            this.start = start;
+            this.end = end;
+            this.listener = listener;
+            this.workspace = workspace;
+            this.openSet = workspace.heap();
+            this.neighbors = workspace.neighbors();
 
-        NodeWrapper(Node node, int cost) {
-            this.node = node;
-            this.cost = cost;
+            openSet.push(start, manhattanDistance(grid, start, end));
+            workspace.visit(start);
         }
-    }
 
-    @Override
-    public void findPath(Node[][] grid, Node start, Node end, GridPanel gridPanel,
-                         int delay, Supplier<Boolean> stopCondition) {
-        PriorityQueue<NodeWrapper> openSet = new PriorityQueue<>(
-                Comparator.comparingInt(n -> manhattanDistance(n.node, end)));
-        Map<Node, Node> parents = new HashMap<>();
-        Set<Node> visited = new HashSet<>();
+        @Override
+        protected int openSetSize() {
+            return openSet.size();
+        }
 
-        openSet.add(new NodeWrapper(start, 0));
-        visited.add(start);
+        @Override
+        protected void expandNext() {
+            if (openSet.isEmpty()) {
+                noPathFound(listener);
+                finish(null);
+                return;
+            }
 
-        while (!openSet.isEmpty() && !stopCondition.get()) {
-            NodeWrapper currentWrapper = openSet.poll();
-            Node current = currentWrapper.node;
+            int current = openSet.pop();
+            countPop();
 
-            gridPanel.setCurrentlySearching(current);
+            markSearching(listener, current);
 
             if (current == end) {
-                highlightPath(parents, start, end);
+                finish(highlightPath(grid, workspace, start, end, listener));
                 return;
             }
 
-            for (Node neighbor : getNeighbors(grid, current)) {
-                if (!visited.contains(neighbor) && !neighbor.isWall()) {
-                    visited.add(neighbor);
-                    parents.put(neighbor, current);
-                    openSet.add(new NodeWrapper(neighbor, manhattanDistance(neighbor, end)));
+            int count = getNeighbors(grid, current, neighbors);
+            for (int i = 0; i < count; i++) {
+                int neighbor = neighbors[i];
+                if (grid.isWall(neighbor)) continue;
+                countGenerated();
+                if (!workspace.isVisited(neighbor)) {
+                    workspace.visit(neighbor);
+                    workspace.setParent(neighbor, current);
+                    openSet.push(neighbor, manhattanDistance(grid, neighbor, end));
+                    countPush();
                 }
             }
-
-            try {
-                Thread.sleep(delay);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
         }
-
-        if (!stopCondition.get()) {
-            noPathFound();
-        }
-    }
-
-    private int manhattanDistance(Node a, Node b) {
-        return Math.abs(a.getRow() - b.getRow()) + Math.abs(a.getCol() - b.getCol());
     }
 }
\ No newline at end of file
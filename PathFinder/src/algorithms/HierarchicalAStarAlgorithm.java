@@ -0,0 +1,194 @@
+package algorithms;
+
+import model.GridModel;
+import java.util.Arrays;
+
+/**
+ * HPA*: A* over the entrance cells of a {@link ClusterGraph}, followed by
+ * refining each abstract edge with a search confined to one cluster. The graph
+ * for the last grid searched is kept and updated only where walls changed, so
+ * repeated queries on a large map skip almost all of the raw cells; a grid with
+ * the same content hash reuses it without a diff. Paths are
+ * near-optimal rather than optimal, since entrances are sampled per border run.
+ */
+public class HierarchicalAStarAlgorithm extends Algorithm {
+    private static final int CLUSTER_SIZE = 16;
+    private static HierarchicalAStarAlgorithm instance;
+    private volatile ClusterGraph graph;
+
+    private HierarchicalAStarAlgorithm() {}
+
+    public static HierarchicalAStarAlgorithm getInstance() {
+        if (instance == null) {
+            instance = new HierarchicalAStarAlgorithm();
+        }
+        return instance;
+    }
+
+    /** Returns the abstraction for {@code grid}, rebuilding only the clusters it changed. */
+    public ClusterGraph graphFor(GridModel grid) {
+        // Unchanged walls, the usual case for a batch of queries, skip both the lock and the diff
+        ClusterGraph current = graph;
+        if (current != null && current.matches(grid)) {
+            return current;
+        }
+        synchronized (this) {
+            current = graph;
+            if (current == null || !current.matches(grid)) {
+                graph = current = current == null ? ClusterGraph.build(grid, CLUSTER_SIZE) : current.update(grid);
+            }
+            return current;
+        }
+    }
+
+    @Override
+    protected SearchStepper createStepper(GridModel grid, int start, int end,
+                                          SearchListener listener, SearchWorkspace workspace) {
+        return new Stepper(graphFor(grid), start, end, listener, workspace);
+    }
+
+    private class Stepper extends SearchStepper {
+        private final ClusterGraph graph;
+        private final GridModel grid;
+        private final int start, end;
+        private final SearchListener listener;
+        private final ClusterGraph.ClusterSearch search;
+        private final int startCluster, endCluster;
+        private final int[] startDistances, endDistances;
+        private final int directDistance;
+        private final SearchWorkspace workspace;
+        private final IndexedHeap openSet;
+
+        Stepper(ClusterGraph graph, int start, int end, SearchListener listener, SearchWorkspace workspace) {
+            this.graph = graph;
+            this.grid = graph.grid;
+            this.start = start;
+            this.end = end;
+            this.listener = listener;
+            this.workspace = workspace;
+            this.openSet = workspace.heap();
+            this.search = new ClusterGraph.ClusterSearch(graph.clusterSize);
+            this.startCluster = graph.clusterOf(start);
+            this.endCluster = graph.clusterOf(end);
+
+            // Temporary edges joining start and end to the entrances of their own clusters
+            ClusterGraph.Cluster first = graph.cluster(startCluster);
+            runSearch(first, start);
+            startDistances = distancesTo(first);
+            boolean endOpen = !grid.isWall(end);
+            directDistance = startCluster == endCluster && endOpen ? search.distanceTo(end) : -1;
+            ClusterGraph.Cluster last = graph.cluster(endCluster);
+            runSearch(last, end);
+            endDistances = distancesTo(last);
+            if (!endOpen) {
+                Arrays.fill(endDistances, -1);
+            }
+
+            workspace.setDistance(start, 0);
+            openSet.push(start, ShortestPathAlgorithm.priority(0, manhattanDistance(grid, start, end)));
+        }
+
+        private void runSearch(ClusterGraph.Cluster cluster, int source) {
+            search.run(grid, cluster.row0, cluster.col0, cluster.rows, cluster.cols, source);
+        }
+
+        private int[] distancesTo(ClusterGraph.Cluster cluster) {
+            int[] distances = new int[cluster.nodes.length];
+            for (int i = 0; i < distances.length; i++) {
+                distances[i] = search.distanceTo(cluster.nodes[i]);
+            }
+            return distances;
+        }
+
+        private void relax(int from, int to, int cost) {
+            countGenerated();
+            if (cost < workspace.getDistance(to) && !workspace.isClosed(to)) {
+                workspace.setDistance(to, cost);
+                workspace.setParent(to, from);
+                openSet.push(to, ShortestPathAlgorithm.priority(cost, manhattanDistance(grid, to, end)));
+                countPush();
+            }
+        }
+
+        @Override
+        protected int openSetSize() {
+            return openSet.size();
+        }
+
+        @Override
+        protected void expandNext() {
+            if (openSet.isEmpty()) {
+                noPathFound(listener);
+                finish(null);
+                return;
+            }
+
+            int current = openSet.pop();
+            countPop();
+            workspace.close(current);
+
+            markSearching(listener, current);
+
+            if (current == end) {
+                finish(highlightPath(refine(), listener));
+                return;
+            }
+
+            int cost = workspace.getDistance(current);
+            int clusterIndex = graph.clusterOf(current);
+            ClusterGraph.Cluster cluster = graph.cluster(clusterIndex);
+
+            if (current == start) {
+                for (int i = 0; i < startDistances.length; i++) {
+                    if (startDistances[i] >= 0) relax(current, cluster.nodes[i], startDistances[i]);
+                }
+                if (directDistance >= 0) relax(current, end, directDistance);
+            }
+
+            int index = cluster.indexOf(current);
+            if (index >= 0) {
+                for (int j = 0; j < cluster.nodes.length; j++) {
+                    int distance = cluster.distance(index, j);
+                    if (j != index && distance >= 0) relax(current, cluster.nodes[j], cost + distance);
+                }
+                int flags = cluster.flags[index];
+                if ((flags & ClusterGraph.RIGHT) != 0) relax(current, current + 1, cost + 1);
+                if ((flags & ClusterGraph.LEFT) != 0) relax(current, current - 1, cost + 1);
+                if ((flags & ClusterGraph.DOWN) != 0) relax(current, current + grid.getWidth(), cost + 1);
+                if ((flags & ClusterGraph.UP) != 0) relax(current, current - grid.getWidth(), cost + 1);
+                if (clusterIndex == endCluster && endDistances[index] >= 0) {
+                    relax(current, end, cost + endDistances[index]);
+                }
+            }
+        }
+
+        // Expands each abstract edge into cells: border crossings are single steps,
+        // everything else is a search inside the cluster both ends share
+        private int[] refine() {
+            int hops = 0;
+            for (int cell = end; cell != start; cell = workspace.getParent(cell)) {
+                hops++;
+            }
+            int[] abstractPath = new int[hops + 1];
+            for (int i = hops, cell = end; i >= 0; i--, cell = workspace.getParent(cell)) {
+                abstractPath[i] = cell;
+            }
+
+            int[] path = new int[workspace.getDistance(end) + 1];
+            int length = 0;
+            path[length++] = start;
+            for (int i = 1; i < abstractPath.length; i++) {
+                int from = abstractPath[i - 1], to = abstractPath[i];
+                if (manhattanDistance(grid, from, to) == 1) {
+                    path[length++] = to;
+                    continue;
+                }
+                runSearch(graph.cluster(graph.clusterOf(from)), from);
+                int[] segment = search.pathTo(to);
+                System.arraycopy(segment, 1, path, length, segment.length - 1);
+                length += segment.length - 1;
+            }
+            return path;
+        }
+    }
+}
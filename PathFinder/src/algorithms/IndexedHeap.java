@@ -0,0 +1,172 @@
+package algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Four-ary min-heap of cell ids with decrease-key. Keys are cached alongside the
+ * heap slots so comparisons never recompute costs, and each cell's slot is
+ * tracked so a cell is never queued twice. The slot table is one flat array up
+ * to {@link SearchWorkspace#FLAT_CELLS} ids and paged like
+ * {@link PagedSearchWorkspace} beyond that, so only the parts of a huge id
+ * range in use take memory.
+ */
+public class IndexedHeap {
+    // Slot + 1 of each queued cell, 0 when not queued
+    private int[][] positions;
+    // A page holds 1 << shift ids; the flat table is a single page of pageSize ids
+    private int shift, mask, pageSize;
+    // Shared by pages nothing has been queued in; null while the table is flat
+    private int[] emptyPage;
+    private int[] cells;
+    private long[] keys;
+    private int size;
+
+    public IndexedHeap(int cellCount) {
+        makeFlat();
+        ensureCapacity(cellCount);
+        cells = new int[16];
+        keys = new long[16];
+    }
+
+    public boolean isEmpty() { return size == 0; }
+    public int size() { return size; }
+
+    public long peekKey() {
+        return keys[0];
+    }
+
+    /** Inserts {@code cell}, or lowers its key if it is already queued with a larger one. */
+    public void push(int cell, long key) {
+        int[] page = positions[cell >>> shift];
+        if (page == emptyPage) {
+            page = new int[pageSize];
+            positions[cell >>> shift] = page;
+        }
+        int index = page[cell & mask] - 1;
+        if (index < 0) {
+            if (size == cells.length) {
+                cells = Arrays.copyOf(cells, size * 2);
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            siftUp(size++, cell, key);
+        } else if (key < keys[index]) {
+            siftUp(index, cell, key);
+        }
+    }
+
+    public int pop() {
+        int top = cells[0];
+        positions[top >>> shift][top & mask] = 0;
+        if (--size > 0) {
+            siftDown(0, cells[size], keys[size]);
+        }
+        return top;
+    }
+
+    public void remove(int cell) {
+        int index = positions[cell >>> shift][cell & mask] - 1;
+        if (index < 0) return;
+        positions[cell >>> shift][cell & mask] = 0;
+        if (--size > index) {
+            int last = cells[size];
+            long lastKey = keys[size];
+            if (lastKey < keys[index]) {
+                siftUp(index, last, lastKey);
+            } else {
+                siftDown(index, last, lastKey);
+            }
+        }
+    }
+
+    /** Makes room for cell ids below {@code cellCount}, for searches that number cells as they reach them. */
+    public void ensureCapacity(int cellCount) {
+        if (emptyPage == null) {
+            if (cellCount <= pageSize) return;
+            if (cellCount <= SearchWorkspace.FLAT_CELLS) {
+                pageSize = Math.min(SearchWorkspace.FLAT_CELLS, Math.max(cellCount, pageSize * 2));
+                positions[0] = Arrays.copyOf(positions[0], pageSize);
+                return;
+            }
+            // Too many ids for one array: cut the flat table into pages
+            int[] flat = positions[0];
+            shift = PagedSearchWorkspace.PAGE_SHIFT;
+            mask = PagedSearchWorkspace.PAGE_SIZE - 1;
+            pageSize = PagedSearchWorkspace.PAGE_SIZE;
+            emptyPage = new int[pageSize];
+            positions = new int[0][];
+            growPages(cellCount);
+            for (int page = 0; page * pageSize < flat.length; page++) {
+                positions[page] = Arrays.copyOfRange(flat, page * pageSize, (page + 1) * pageSize);
+            }
+            return;
+        }
+        growPages(cellCount);
+    }
+
+    private void growPages(int cellCount) {
+        int pages = (int) ((cellCount + (long) mask) >>> shift);
+        if (pages > positions.length) {
+            int old = positions.length;
+            positions = Arrays.copyOf(positions, Math.max(pages, old * 2));
+            Arrays.fill(positions, old, positions.length, emptyPage);
+        }
+    }
+
+    /** Empties the heap in O(size) without touching the rest of the position table. */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[cells[i] >>> shift][cells[i] & mask] = 0;
+        }
+        size = 0;
+    }
+
+    /** Empties the heap and drops its position table, which {@link #ensureCapacity} grows again. */
+    public void release() {
+        makeFlat();
+        cells = new int[16];
+        keys = new long[16];
+        size = 0;
+    }
+
+    private void makeFlat() {
+        shift = 31;
+        mask = Integer.MAX_VALUE;
+        pageSize = 0;
+        emptyPage = null;
+        positions = new int[][] {new int[0]};
+    }
+
+    private void siftUp(int index, int cell, long key) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 2;
+            if (keys[parent] <= key) break;
+            place(index, cells[parent], keys[parent]);
+            index = parent;
+        }
+        place(index, cell, key);
+    }
+
+    private void siftDown(int index, int cell, long key) {
+        while (true) {
+            int first = 4 * index + 1;
+            if (first >= size) break;
+            int child = first;
+            int last = Math.min(first + 4, size);
+            for (int c = first + 1; c < last; c++) {
+                if (keys[c] < keys[child]) {
+                    child = c;
+                }
+            }
+            if (key <= keys[child]) break;
+            place(index, cells[child], keys[child]);
+            index = child;
+        }
+        place(index, cell, key);
+    }
+
+    private void place(int index, int cell, long key) {
+        cells[index] = cell;
+        keys[index] = key;
+        positions[cell >>> shift][cell & mask] = index + 1;
+    }
+}
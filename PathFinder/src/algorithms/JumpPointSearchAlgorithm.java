@@ -0,0 +1,161 @@
+package algorithms;
+
+import model.GridModel;
+
+/**
+ * Jump Point Search for the 4-connected grid. Paths are made canonical by
+ * moving horizontally before vertically: horizontal jumps stop at forced
+ * neighbours, vertical jumps also stop wherever a horizontal jump from that cell
+ * would find a jump point. Only jump points enter the open set, and the cells
+ * between them are filled back in when the path is built.
+ */
+public class JumpPointSearchAlgorithm extends Algorithm {
+    private static JumpPointSearchAlgorithm instance;
+
+    private JumpPointSearchAlgorithm() {}
+
+    public static JumpPointSearchAlgorithm getInstance() {
+        if (instance == null) {
+            instance = new JumpPointSearchAlgorithm();
+        }
+        return instance;
+    }
+
+    @Override
+    protected SearchStepper createStepper(GridModel grid, int start, int end,
+                                          SearchListener listener, SearchWorkspace workspace) {
+        return new Stepper(grid, start, end, listener, workspace);
+    }
+
+    private class Stepper extends SearchStepper {
+        private final GridModel grid;
+        private final int start, end;
+        private final SearchListener listener;
+        private final SearchWorkspace workspace;
+        private final IndexedHeap openSet;
+
+        Stepper(GridModel grid, int start, int end, SearchListener listener, SearchWorkspace workspace) {
+            this.grid = grid;
+            this.start = start;
+            this.end = end;
+            this.listener = listener;
+            this.workspace = workspace;
+            this.openSet = workspace.heap();
+
+            openSet.push(start, ShortestPathAlgorithm.priority(0, manhattanDistance(grid, start, end)));
+            workspace.setDistance(start, 0);
+            workspace.setParent(start, start);
+        }
+
+        @Override
+        protected int openSetSize() {
+            return openSet.size();
+        }
+
+        @Override
+        protected void expandNext() {
+            if (openSet.isEmpty()) {
+                noPathFound(listener);
+                finish(null);
+                return;
+            }
+
+            int current = openSet.pop();
+            countPop();
+
+            markSearching(listener, current);
+
+            if (current == end) {
+                finish(highlightPath(grid, workspace, start, end, listener));
+                return;
+            }
+
+            int width = grid.getWidth();
+            int row = current / width, col = current - row * width;
+            int parent = workspace.getParent(current);
+            int dRow = Integer.signum(row - parent / width);
+            int dCol = Integer.signum(col - parent % width);
+
+            if (current == start) {
+                relax(current, jumpHorizontal(grid, row, col, 1, end));
+                relax(current, jumpHorizontal(grid, row, col, -1, end));
+                relax(current, jumpVertical(grid, row, col, 1, end));
+                relax(current, jumpVertical(grid, row, col, -1, end));
+            } else if (dCol != 0) {
+                relax(current, jumpHorizontal(grid, row, col, dCol, end));
+                relax(current, jumpVertical(grid, row, col, 1, end));
+                relax(current, jumpVertical(grid, row, col, -1, end));
+            } else {
+                relax(current, jumpVertical(grid, row, col, dRow, end));
+                relax(current, jumpHorizontal(grid, row, col, 1, end));
+                relax(current, jumpHorizontal(grid, row, col, -1, end));
+            }
+        }
+
+        private void relax(int current, int jumpPoint) {
+            if (jumpPoint < 0) return;
+            countGenerated();
+            int newCost = workspace.getDistance(current) + manhattanDistance(grid, current, jumpPoint);
+            if (newCost < workspace.getDistance(jumpPoint)) {
+                workspace.setDistance(jumpPoint, newCost);
+                workspace.setParent(jumpPoint, current);
+                openSet.push(jumpPoint, ShortestPathAlgorithm.priority(newCost, manhattanDistance(grid, jumpPoint, end)));
+                countPush();
+            }
+        }
+    }
+
+    private boolean isOpen(GridModel grid, int row, int col) {
+        return grid.inBounds(row, col) && !grid.isWall(row, col);
+    }
+
+    private int jumpHorizontal(GridModel grid, int row, int col, int dCol, int end) {
+        while (true) {
+            col += dCol;
+            if (!isOpen(grid, row, col)) return -1;
+            int cell = grid.cellId(row, col);
+            if (cell == end) return cell;
+            if ((isOpen(grid, row - 1, col) && !isOpen(grid, row - 1, col - dCol)) ||
+                    (isOpen(grid, row + 1, col) && !isOpen(grid, row + 1, col - dCol))) {
+                return cell;
+            }
+        }
+    }
+
+    private int jumpVertical(GridModel grid, int row, int col, int dRow, int end) {
+        while (true) {
+            row += dRow;
+            if (!isOpen(grid, row, col)) return -1;
+            int cell = grid.cellId(row, col);
+            if (cell == end) return cell;
+            if ((isOpen(grid, row, col - 1) && !isOpen(grid, row - dRow, col - 1)) ||
+                    (isOpen(grid, row, col + 1) && !isOpen(grid, row - dRow, col + 1))) {
+                return cell;
+            }
+            if (jumpHorizontal(grid, row, col, 1, end) >= 0 || jumpHorizontal(grid, row, col, -1, end) >= 0) {
+                return cell;
+            }
+        }
+    }
+
+    @Override
+    protected int[] buildPath(GridModel grid, SearchWorkspace workspace, int start, int end) {
+        int length = 1;
+        for (int cell = end; cell != start; cell = workspace.getParent(cell)) {
+            length += manhattanDistance(grid, cell, workspace.getParent(cell));
+        }
+
+        int[] path = new int[length];
+        int index = length - 1;
+        for (int cell = end; cell != start; cell = workspace.getParent(cell)) {
+            int parent = workspace.getParent(cell);
+            int step = grid.rowOf(cell) == grid.rowOf(parent) ? 1 : grid.getWidth();
+            if (cell < parent) step = -step;
+            for (int c = cell; c != parent; c -= step) {
+                path[index--] = c;
+            }
+        }
+        path[0] = start;
+        return path;
+    }
+}
@@ -0,0 +1,93 @@
+package algorithms;
+
+import model.GridModel;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Wraps a search and measures it: expansions seen by its listener, the counters
+ * its stepper keeps, and the time and bytes the stepping thread spends inside
+ * {@link #step(int)}. Work done between steps, such as pacing sleeps or
+ * painting, is not counted.
+ */
+public class MeteredSearch extends SearchStepper {
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final String name;
+    private final SearchStepper search;
+    private final SearchListener delegate;
+    private int expanded;
+    private long elapsedNanos, allocatedBytes;
+
+    public MeteredSearch(String name, GridModel grid, int start, int end, SearchListener listener) {
+        this(name, AlgorithmRegistry.get(name), grid, start, end, listener);
+    }
+
+    public MeteredSearch(String name, Algorithm algorithm, GridModel grid, int start, int end,
+                         SearchListener listener) {
+        this.name = name;
+        this.delegate = listener;
+        long began = System.nanoTime();
+        long allocated = allocatedBytes();
+        this.search = algorithm.stepper(grid, start, end, new SearchListener() {
+            @Override
+            public void onExpand(int cell) {
+                expanded++;
+                if (delegate != null) delegate.onExpand(cell);
+            }
+
+            @Override
+            public void onPath(int[] path) {
+                if (delegate != null) delegate.onPath(path);
+            }
+
+            @Override
+            public void onNoPath() {
+                if (delegate != null) delegate.onNoPath();
+            }
+        });
+        record(began, allocated);
+    }
+
+    @Override
+    public boolean step(int expansions) {
+        long began = System.nanoTime();
+        long allocated = allocatedBytes();
+        boolean running = search.step(expansions);
+        record(began, allocated);
+        if (!running && !isDone()) {
+            finish(search.getPath());
+        }
+        return running;
+    }
+
+    @Override
+    protected void expandNext() {
+        step(1);
+    }
+
+    @Override
+    public int getPeakOpenSetSize() { return search.getPeakOpenSetSize(); }
+    @Override
+    public long getGenerated() { return search.getGenerated(); }
+    @Override
+    public long getPushes() { return search.getPushes(); }
+    @Override
+    public long getPops() { return search.getPops(); }
+
+    public SearchMetrics getMetrics() {
+        int[] path = search.getPath();
+        return new SearchMetrics(name, search.isDone(), expanded, search.getGenerated(), search.getPushes(),
+                search.getPops(), search.getPeakOpenSetSize(), path == null ? -1 : path.length - 1,
+                elapsedNanos, THREADS.isThreadAllocatedMemoryEnabled() ? allocatedBytes : -1);
+    }
+
+    private void record(long began, long allocated) {
+        elapsedNanos += System.nanoTime() - began;
+        allocatedBytes += allocatedBytes() - allocated;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS.isThreadAllocatedMemoryEnabled() ? THREADS.getCurrentThreadAllocatedBytes() : 0;
+    }
+}
@@ -0,0 +1,131 @@
+package algorithms;
+
+import java.util.Arrays;
+
+/**
+ * {@link SearchWorkspace} for grids too large for flat per-cell arrays, such as
+ * a memory-mapped map of a billion cells. Pages of {@link #PAGE_SIZE} cells are
+ * allocated the first time a search writes to them, so a search costs heap in
+ * proportion to the area it explores rather than to the size of the map. Pages
+ * are kept for the next search unless more than {@link #RETAINED_CELLS} cells'
+ * worth have piled up. D* Lite and HPA* keep per-cell state of their own
+ * and still need memory for every cell.
+ */
+class PagedSearchWorkspace extends SearchWorkspace {
+    static final int PAGE_SHIFT = 12;
+    static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    private static final long RETAINED_CELLS = 1L << 24;
+
+    // Stands in for pages nothing has written to yet; stamp 0 is never a live generation
+    private static final int[] EMPTY_PAGE = new int[PAGE_SIZE];
+
+    private long allocatedCells;
+    private int[][] stamps = new int[0][];
+    private int[][] closedStamps = new int[0][];
+    private int[][] distances = new int[0][];
+    private int[][] parents = new int[0][];
+
+    PagedSearchWorkspace() {
+        // Searches push their start before checking for room
+        queue = new int[16];
+    }
+
+    @Override
+    public void begin(int cellCount) {
+        this.cellCount = cellCount;
+        heap.clear();
+        if (allocatedCells > RETAINED_CELLS) {
+            allocatedCells = 0;
+            generation = 0;
+            stamps = new int[0][];
+            closedStamps = new int[0][];
+            distances = new int[0][];
+            parents = new int[0][];
+            queue = new int[16];
+            heap = new IndexedHeap(0);
+        }
+        int pages = (int) ((cellCount + (long) PAGE_MASK) >>> PAGE_SHIFT);
+        if (pages > stamps.length) {
+            int old = stamps.length;
+            stamps = Arrays.copyOf(stamps, pages);
+            closedStamps = Arrays.copyOf(closedStamps, pages);
+            distances = Arrays.copyOf(distances, pages);
+            parents = Arrays.copyOf(parents, pages);
+            Arrays.fill(stamps, old, pages, EMPTY_PAGE);
+            Arrays.fill(closedStamps, old, pages, EMPTY_PAGE);
+        }
+        heap.ensureCapacity(cellCount);
+
+        if (++generation == Integer.MAX_VALUE) {
+            for (int page = 0; page < stamps.length; page++) {
+                if (stamps[page] != EMPTY_PAGE) {
+                    Arrays.fill(stamps[page], 0);
+                    Arrays.fill(closedStamps[page], 0);
+                }
+            }
+            generation = 1;
+        }
+    }
+
+    // Index of the page holding cell, allocating the page on first write
+    private int page(int cell) {
+        int page = cell >>> PAGE_SHIFT;
+        if (stamps[page] == EMPTY_PAGE) {
+            stamps[page] = new int[PAGE_SIZE];
+            closedStamps[page] = new int[PAGE_SIZE];
+            distances[page] = new int[PAGE_SIZE];
+            parents[page] = new int[PAGE_SIZE];
+            allocatedCells += PAGE_SIZE;
+        }
+        return page;
+    }
+
+    @Override
+    public boolean isVisited(int cell) {
+        return stamps[cell >>> PAGE_SHIFT][cell & PAGE_MASK] == generation;
+    }
+
+    @Override
+    public void visit(int cell) {
+        stamps[page(cell)][cell & PAGE_MASK] = generation;
+    }
+
+    @Override
+    public boolean isClosed(int cell) {
+        return closedStamps[cell >>> PAGE_SHIFT][cell & PAGE_MASK] == generation;
+    }
+
+    @Override
+    public void close(int cell) {
+        closedStamps[page(cell)][cell & PAGE_MASK] = generation;
+    }
+
+    @Override
+    public int getDistance(int cell) {
+        int page = cell >>> PAGE_SHIFT, slot = cell & PAGE_MASK;
+        return stamps[page][slot] == generation ? distances[page][slot] : Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void setDistance(int cell, int distance) {
+        int page = page(cell), slot = cell & PAGE_MASK;
+        stamps[page][slot] = generation;
+        distances[page][slot] = distance;
+    }
+
+    @Override
+    public int getParent(int cell) {
+        return parents[cell >>> PAGE_SHIFT][cell & PAGE_MASK];
+    }
+
+    @Override
+    public void setParent(int cell, int parent) {
+        parents[page(cell)][cell & PAGE_MASK] = parent;
+    }
+
+    @Override
+    SearchWorkspace newWorkspace() {
+        return new PagedSearchWorkspace();
+    }
+}
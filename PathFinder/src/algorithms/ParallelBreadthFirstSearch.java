@@ -0,0 +1,203 @@
+package algorithms;
+
+import model.GridModel;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Level-synchronous breadth-first flood fill for very large grids. Each level's
+ * frontier is cut into chunks that workers expand in parallel: a cell is claimed
+ * by atomically setting its bit in a shared visited bitset, so exactly one worker
+ * records its distance, and each chunk appends the cells it claims to its own
+ * buffer. The buffers are concatenated into the next frontier between levels.
+ * Distances are identical to a sequential BFS; only the order within a level differs.
+ */
+public class ParallelBreadthFirstSearch {
+    // Below this a level is expanded on the calling thread; forking would cost more than it saves
+    private static final int PARALLEL_THRESHOLD = 4096;
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private final ForkJoinPool pool;
+
+    public ParallelBreadthFirstSearch() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelBreadthFirstSearch(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /** Distance in moves from {@code source} to every cell, or -1 for walls and unreachable cells. */
+    public int[] distances(GridModel grid, int source) {
+        return new Run(grid.copy(), source).flood(-1);
+    }
+
+    /** A shortest path from {@code start} to {@code end} inclusive, or null when there is none. */
+    public int[] findPath(GridModel grid, int start, int end) {
+        GridModel snapshot = grid.copy();
+        Run run = new Run(snapshot, start);
+        int[] distances = run.flood(end);
+        if (distances[end] < 0) {
+            return null;
+        }
+
+        // Walk back downhill; every cell at distance d has a neighbour at d - 1
+        int[] path = new int[distances[end] + 1];
+        int width = snapshot.getWidth();
+        int cell = end;
+        for (int i = path.length - 1; i > 0; i--) {
+            path[i] = cell;
+            int row = cell / width, col = cell - row * width;
+            int previous = distances[cell] - 1;
+            if (row > 0 && distances[cell - width] == previous) cell -= width;
+            else if (row < snapshot.getHeight() - 1 && distances[cell + width] == previous) cell += width;
+            else if (col > 0 && distances[cell - 1] == previous) cell -= 1;
+            else cell += 1;
+        }
+        path[0] = start;
+        return path;
+    }
+
+    private class Run {
+        private final GridModel grid;
+        private final int source;
+        private final int[] distances;
+        private final AtomicLongArray visited;
+        private int[] frontier, next;
+        private int frontierSize;
+        private int[][] buffers = new int[0][];
+        private int[] bufferSizes = new int[0];
+
+        Run(GridModel grid, int source) {
+            this.grid = grid;
+            this.source = source;
+            this.distances = new int[grid.size()];
+            this.visited = new AtomicLongArray((grid.size() + 63) >>> 6);
+            this.frontier = new int[1024];
+            this.next = new int[1024];
+        }
+
+        /** Floods level by level, stopping after the level that reaches {@code target} (-1 for none). */
+        int[] flood(int target) {
+            Arrays.fill(distances, -1);
+            if (grid.isWall(source)) {
+                return distances;
+            }
+            claim(source);
+            distances[source] = 0;
+            frontier[0] = source;
+            frontierSize = 1;
+
+            for (int level = 1; frontierSize > 0 && (target < 0 || distances[target] < 0); level++) {
+                int chunks = frontierSize < PARALLEL_THRESHOLD ? 1
+                        : Math.min(frontierSize / 1024, pool.getParallelism() * CHUNKS_PER_WORKER);
+                prepareBuffers(chunks);
+                if (chunks == 1) {
+                    expandChunk(0, 0, frontierSize, level);
+                } else {
+                    pool.invoke(new LevelTask(0, chunks, chunks, level));
+                }
+                gatherNextFrontier(chunks);
+            }
+            return distances;
+        }
+
+        private void prepareBuffers(int chunks) {
+            if (buffers.length < chunks) {
+                int old = buffers.length;
+                buffers = Arrays.copyOf(buffers, chunks);
+                bufferSizes = Arrays.copyOf(bufferSizes, chunks);
+                for (int i = old; i < chunks; i++) {
+                    buffers[i] = new int[1024];
+                }
+            }
+        }
+
+        private void gatherNextFrontier(int chunks) {
+            int total = 0;
+            for (int i = 0; i < chunks; i++) {
+                total += bufferSizes[i];
+            }
+            if (next.length < total) {
+                next = new int[Math.max(total, next.length * 2)];
+            }
+            int offset = 0;
+            for (int i = 0; i < chunks; i++) {
+                System.arraycopy(buffers[i], 0, next, offset, bufferSizes[i]);
+                offset += bufferSizes[i];
+            }
+            int[] swap = frontier;
+            frontier = next;
+            next = swap;
+            frontierSize = total;
+        }
+
+        private void expandChunk(int chunk, int from, int to, int level) {
+            int[] buffer = buffers[chunk];
+            int size = 0;
+            int width = grid.getWidth(), height = grid.getHeight();
+            for (int i = from; i < to; i++) {
+                int cell = frontier[i];
+                int row = cell / width, col = cell - row * width;
+                // Room for four neighbours keeps the appends below free of bounds checks
+                if (size + 4 > buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                if (row > 0 && visit(cell - width, level)) buffer[size++] = cell - width;
+                if (row < height - 1 && visit(cell + width, level)) buffer[size++] = cell + width;
+                if (col > 0 && visit(cell - 1, level)) buffer[size++] = cell - 1;
+                if (col < width - 1 && visit(cell + 1, level)) buffer[size++] = cell + 1;
+            }
+            buffers[chunk] = buffer;
+            bufferSizes[chunk] = size;
+        }
+
+        private boolean visit(int cell, int level) {
+            if (grid.isWall(cell) || !claim(cell)) {
+                return false;
+            }
+            distances[cell] = level;
+            return true;
+        }
+
+        private boolean claim(int cell) {
+            int word = cell >>> 6;
+            long bit = 1L << cell;
+            while (true) {
+                long current = visited.get(word);
+                if ((current & bit) != 0) {
+                    return false;
+                }
+                if (visited.compareAndSet(word, current, current | bit)) {
+                    return true;
+                }
+            }
+        }
+
+        private class LevelTask extends RecursiveAction {
+            private final int fromChunk, toChunk, chunks, level;
+
+            LevelTask(int fromChunk, int toChunk, int chunks, int level) {
+                this.fromChunk = fromChunk;
+                this.toChunk = toChunk;
+                this.chunks = chunks;
+                this.level = level;
+            }
+
+            @Override
+            protected void compute() {
+                if (toChunk - fromChunk == 1) {
+                    long from = (long) frontierSize * fromChunk / chunks;
+                    long to = (long) frontierSize * toChunk / chunks;
+                    expandChunk(fromChunk, (int) from, (int) to, level);
+                    return;
+                }
+                int middle = (fromChunk + toChunk) >>> 1;
+                invokeAll(new LevelTask(fromChunk, middle, chunks, level),
+                        new LevelTask(middle, toChunk, chunks, level));
+            }
+        }
+    }
+}
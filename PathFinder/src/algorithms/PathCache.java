@@ -0,0 +1,127 @@
+package algorithms;
+
+import model.GridModel;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Bounded LRU cache of search results keyed by (grid content hash, start, end,
+ * algorithm). Because the key is the wall layout rather than a grid instance,
+ * results computed on one snapshot are reused for any later snapshot with the
+ * same walls. Grid moves are undirected, so a miss falls back to the reverse
+ * query and returns its path reversed. Thread-safe.
+ */
+public class PathCache {
+    /** Cached outcome of a search that found no path; distinct from a miss, which is null. */
+    public static final int[] NO_PATH = new int[0];
+
+    private final Map<Key, int[]> entries;
+    private long hits, misses;
+
+    public PathCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive: " + capacity);
+        }
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, int[]> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /** Returns a copy of the cached path, {@link #NO_PATH}, or null on a miss. */
+    public synchronized int[] get(GridModel grid, String algorithm, int start, int end) {
+        int[] path = entries.get(new Key(grid, algorithm, start, end));
+        if (path != null) {
+            hits++;
+            return path.length == 0 ? NO_PATH : path.clone();
+        }
+        path = entries.get(new Key(grid, algorithm, end, start));
+        if (path != null) {
+            hits++;
+            return path.length == 0 ? NO_PATH : reversed(path);
+        }
+        misses++;
+        return null;
+    }
+
+    /** Records the outcome of a finished search; {@code path} may be null for no path. */
+    public synchronized void put(GridModel grid, String algorithm, int start, int end, int[] path) {
+        entries.put(new Key(grid, algorithm, start, end), path == null ? NO_PATH : path.clone());
+    }
+
+    /**
+     * Wraps {@code search} so a path it finds is stored here. Searches that end
+     * without a path store nothing, since a stepper cannot tell "no path" from
+     * being superseded.
+     */
+    public SearchStepper recording(SearchStepper search, GridModel grid, String algorithm, int start, int end) {
+        return new SearchStepper() {
+            // Forwarded whole, so a metered search is timed per batch rather than per expansion
+            @Override
+            public boolean step(int expansions) {
+                boolean running = search.step(expansions);
+                if (search.isDone() && !isDone()) {
+                    if (search.getPath() != null) {
+                        put(grid, algorithm, start, end, search.getPath());
+                    }
+                    finish(search.getPath());
+                }
+                return running;
+            }
+
+            @Override
+            protected void expandNext() {
+                step(1);
+            }
+        };
+    }
+
+    public synchronized long getHits() { return hits; }
+    public synchronized long getMisses() { return misses; }
+    public synchronized int size() { return entries.size(); }
+
+    public synchronized void clear() {
+        entries.clear();
+        hits = 0;
+        misses = 0;
+    }
+
+    private static int[] reversed(int[] path) {
+        int[] result = new int[path.length];
+        for (int i = 0; i < path.length; i++) {
+            result[i] = path[path.length - 1 - i];
+        }
+        return result;
+    }
+
+    private static final class Key {
+        private final long contentHash;
+        private final int width, height, start, end;
+        private final String algorithm;
+
+        Key(GridModel grid, String algorithm, int start, int end) {
+            this.contentHash = grid.contentHash();
+            this.width = grid.getWidth();
+            this.height = grid.getHeight();
+            this.algorithm = algorithm;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return contentHash == other.contentHash && width == other.width && height == other.height
+                    && start == other.start && end == other.end && algorithm.equals(other.algorithm);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(contentHash, width, height, start, end, algorithm);
+        }
+    }
+}
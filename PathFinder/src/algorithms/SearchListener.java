@@ -0,0 +1,13 @@
+package algorithms;
+
+/**
+ * Receives the progress of a search. Callbacks run on the searching thread, so a
+ * listener that touches Swing has to hand the work over to the EDT itself.
+ */
+public interface SearchListener {
+    void onExpand(int cell);
+
+    default void onPath(int[] path) {}
+
+    default void onNoPath() {}
+}
@@ -0,0 +1,104 @@
+package algorithms;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Counters for one search, as collected by {@link MeteredSearch}. Exports to CSV
+ * and JSON so runs can be compared across builds.
+ */
+public final class SearchMetrics {
+    private static final String[] FIELDS = {"algorithm", "finished", "found", "expanded", "generated",
+            "pushes", "pops", "peakOpenSetSize", "pathLength", "pathCost", "elapsedNanos", "allocatedBytes"};
+
+    private final String algorithm;
+    private final boolean finished;
+    private final int expanded;
+    private final long generated, pushes, pops;
+    private final int peakOpenSetSize;
+    private final int pathLength;
+    private final long elapsedNanos, allocatedBytes;
+
+    SearchMetrics(String algorithm, boolean finished, int expanded, long generated, long pushes, long pops,
+                  int peakOpenSetSize, int pathLength, long elapsedNanos, long allocatedBytes) {
+        this.algorithm = algorithm;
+        this.finished = finished;
+        this.expanded = expanded;
+        this.generated = generated;
+        this.pushes = pushes;
+        this.pops = pops;
+        this.peakOpenSetSize = peakOpenSetSize;
+        this.pathLength = pathLength;
+        this.elapsedNanos = elapsedNanos;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    public String getAlgorithm() { return algorithm; }
+    /** False when the search was stopped before it reached an answer. */
+    public boolean isFinished() { return finished; }
+    public boolean isFound() { return pathLength >= 0; }
+    public int getExpanded() { return expanded; }
+    public long getGenerated() { return generated; }
+    public long getPushes() { return pushes; }
+    public long getPops() { return pops; }
+    public int getPeakOpenSetSize() { return peakOpenSetSize; }
+    /** Moves in the path, or -1 when none was found. */
+    public int getPathLength() { return pathLength; }
+    /** Total move cost of the path; every move costs 1 on this grid. */
+    public int getPathCost() { return pathLength; }
+    /** Time spent inside the search itself, excluding any pacing between steps. */
+    public long getElapsedNanos() { return elapsedNanos; }
+    /** Bytes allocated by the searching thread while stepping, or -1 if the JVM cannot measure it. */
+    public long getAllocatedBytes() { return allocatedBytes; }
+
+    private Object[] values() {
+        return new Object[]{algorithm, finished, isFound(), expanded, generated, pushes, pops,
+                peakOpenSetSize, pathLength, getPathCost(), elapsedNanos, allocatedBytes};
+    }
+
+    public static String toCsv(List<SearchMetrics> runs) {
+        StringBuilder csv = new StringBuilder(String.join(",", FIELDS)).append('\n');
+        for (SearchMetrics run : runs) {
+            Object[] values = run.values();
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) csv.append(',');
+                csv.append(i == 0 ? quoteCsv(run.algorithm) : values[i]);
+            }
+            csv.append('\n');
+        }
+        return csv.toString();
+    }
+
+    public static String toJson(List<SearchMetrics> runs) {
+        StringBuilder json = new StringBuilder("[");
+        for (int r = 0; r < runs.size(); r++) {
+            Object[] values = runs.get(r).values();
+            json.append(r == 0 ? "\n  {" : ",\n  {");
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) json.append(", ");
+                json.append('"').append(FIELDS[i]).append("\": ");
+                json.append(i == 0 ? quoteJson(runs.get(r).algorithm) : values[i]);
+            }
+            json.append('}');
+        }
+        return json.append(runs.isEmpty() ? "]\n" : "\n]\n").toString();
+    }
+
+    private static String quoteCsv(String value) {
+        return value.contains(",") || value.contains("\"")
+                ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+
+    private static String quoteJson(String value) {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "%s: expanded %d, generated %d, pushes %d, pops %d, peak open %d, path %s, %.3f ms, %s",
+                algorithm, expanded, generated, pushes, pops, peakOpenSetSize,
+                isFound() ? String.valueOf(pathLength) : "none", elapsedNanos / 1e6,
+                allocatedBytes < 0 ? "allocation n/a" : allocatedBytes + " B allocated");
+    }
+}
@@ -0,0 +1,23 @@
+package algorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Round-robins a fixed number of expansions per tick across every active search. */
+public class SearchScheduler {
+    private final List<SearchStepper> active = new ArrayList<>();
+
+    public void add(SearchStepper stepper) {
+        active.add(stepper);
+    }
+
+    public void cancelAll() {
+        active.clear();
+    }
+
+    /** Steps each active search; returns false once none are left running. */
+    public boolean tick(int expansionsPerSearch) {
+        active.removeIf(stepper -> !stepper.step(expansionsPerSearch));
+        return !active.isEmpty();
+    }
+}
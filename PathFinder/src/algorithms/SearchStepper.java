@@ -0,0 +1,55 @@
+package algorithms;
+
+/**
+ * A search paused between expansions. Each call to {@link #step(int)} resumes it
+ * for a bounded number of expansions, so a Swing timer or a scheduler can drive
+ * any number of searches without a thread or a sleep per search.
+ */
+public abstract class SearchStepper {
+    private boolean done;
+    private int[] path;
+    private int peakOpenSetSize;
+    private long generated, pushes, pops;
+
+    /** Runs up to {@code expansions} expansions; returns false once the search has finished. */
+    public boolean step(int expansions) {
+        for (int i = 0; i < expansions && !done; i++) {
+            expandNext();
+            int open = openSetSize();
+            if (open > peakOpenSetSize) {
+                peakOpenSetSize = open;
+            }
+        }
+        return !done;
+    }
+
+    /** Performs one expansion, calling {@link #finish(int[])} once the search is over. */
+    protected abstract void expandNext();
+
+    /** Cells currently waiting in the open list, queue or stack; 0 for steppers without one. */
+    protected int openSetSize() {
+        return 0;
+    }
+
+    /** Call once for every open successor produced while expanding a cell. */
+    protected final void countGenerated() { generated++; }
+    /** Call once for every insertion into the open set, including key decreases. */
+    protected final void countPush() { pushes++; }
+    protected final void countPop() { pops++; }
+
+    protected void finish(int[] path) {
+        this.done = true;
+        this.path = path;
+    }
+
+    public boolean isDone() { return done; }
+
+    /** The largest open-set size seen after any expansion so far. */
+    public int getPeakOpenSetSize() { return peakOpenSetSize; }
+    public long getGenerated() { return generated; }
+    public long getPushes() { return pushes; }
+    public long getPops() { return pops; }
+
+    /** The path from start to end inclusive, or null while running or when there is none. */
+    public int[] getPath() { return path; }
+}
@@ -0,0 +1,80 @@
+package algorithms;
+
+import model.GridModel;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Compact record of one search: the expanded cells in order plus the final path.
+ * Recording runs the algorithm headless at full speed; the trace can then be
+ * replayed, in whole or in part, into any {@link SearchListener}.
+ */
+public class SearchTrace implements SearchListener {
+    private int[] expansions = new int[256];
+    private int expansionCount;
+    private int[] path;
+    private SearchMetrics metrics;
+
+    /** Records the registered algorithm {@code algorithm}, metering the run as it goes. */
+    public static SearchTrace record(String algorithm, GridModel grid, int start, int end,
+                                     Supplier<Boolean> stopCondition) {
+        SearchTrace trace = new SearchTrace();
+        MeteredSearch search = new MeteredSearch(algorithm, grid, start, end, trace);
+        while (!stopCondition.get() && search.step(Algorithm.HEADLESS_BATCH)) {
+            // keep stepping until finished or stopped
+        }
+        trace.metrics = search.getMetrics();
+        return trace;
+    }
+
+    @Override
+    public void onExpand(int cell) {
+        if (expansionCount == expansions.length) {
+            expansions = Arrays.copyOf(expansions, expansionCount * 2);
+        }
+        expansions[expansionCount++] = cell;
+    }
+
+    @Override
+    public void onPath(int[] path) {
+        this.path = path;
+    }
+
+    public int getExpansionCount() { return expansionCount; }
+    public int getExpansion(int step) { return expansions[step]; }
+    public boolean hasPath() { return path != null; }
+    public int[] getPath() { return path; }
+    public long getElapsedNanos() { return metrics.getElapsedNanos(); }
+    public SearchMetrics getMetrics() { return metrics; }
+
+    /** Returns a stepper that replays this trace one expansion per step into {@code listener}. */
+    public SearchStepper replayStepper(SearchListener listener) {
+        return new SearchStepper() {
+            private int step;
+
+            @Override
+            protected void expandNext() {
+                int next = Math.min(step + 1, expansionCount);
+                replay(listener, step, next);
+                step = next;
+                if (step == expansionCount) {
+                    finish(path);
+                }
+            }
+        };
+    }
+
+    /** Replays expansions {@code [from, to)} and, once {@code to} reaches the end, the outcome. */
+    public void replay(SearchListener listener, int from, int to) {
+        for (int step = from; step < to; step++) {
+            listener.onExpand(expansions[step]);
+        }
+        if (to == expansionCount) {
+            if (path != null) {
+                listener.onPath(path);
+            } else {
+                listener.onNoPath();
+            }
+        }
+    }
+}
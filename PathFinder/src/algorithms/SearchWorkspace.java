@@ -0,0 +1,119 @@
+package algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Per-thread scratch arrays reused across searches. A cell's distance and
+ * parent are only valid when its stamp equals the current generation, so
+ * {@link #begin(int)} starts a fresh search in O(1) instead of clearing arrays.
+ * Grids of more than {@link #FLAT_CELLS} cells get a {@link PagedSearchWorkspace}
+ * instead, which only allocates the parts of the grid a search reaches.
+ */
+public class SearchWorkspace {
+    static final int FLAT_CELLS = 1 << 24;
+
+    private static final ThreadLocal<SearchWorkspace> WORKSPACES =
+            ThreadLocal.withInitial(SearchWorkspace::new);
+    private static final ThreadLocal<SearchWorkspace> PAGED_WORKSPACES =
+            ThreadLocal.withInitial(PagedSearchWorkspace::new);
+
+    int cellCount;
+    int generation;
+    int[] queue = new int[0];
+    IndexedHeap heap = new IndexedHeap(0);
+    private final int[] neighbors = new int[4];
+    private int capacity;
+    private int[] stamps = new int[0];
+    private int[] closedStamps = new int[0];
+    private int[] distances = new int[0];
+    private int[] parents = new int[0];
+    private SearchWorkspace reverse;
+
+    /** Returns the calling thread's workspace, ready for a new search over {@code cellCount} cells. */
+    public static SearchWorkspace acquire(int cellCount) {
+        SearchWorkspace workspace = (cellCount > FLAT_CELLS ? PAGED_WORKSPACES : WORKSPACES).get();
+        workspace.begin(cellCount);
+        return workspace;
+    }
+
+    public void begin(int cellCount) {
+        this.cellCount = cellCount;
+        if (cellCount > capacity) {
+            capacity = cellCount;
+            stamps = new int[cellCount];
+            closedStamps = new int[cellCount];
+            distances = new int[cellCount];
+            parents = new int[cellCount];
+            queue = new int[cellCount];
+            heap = new IndexedHeap(cellCount);
+            generation = 0;
+        } else {
+            heap.clear();
+        }
+
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0);
+            Arrays.fill(closedStamps, 0);
+            generation = 1;
+        }
+    }
+
+    public boolean isVisited(int cell) {
+        return stamps[cell] == generation;
+    }
+
+    public void visit(int cell) {
+        stamps[cell] = generation;
+    }
+
+    public boolean isClosed(int cell) {
+        return closedStamps[cell] == generation;
+    }
+
+    public void close(int cell) {
+        closedStamps[cell] = generation;
+    }
+
+    public int getDistance(int cell) {
+        return stamps[cell] == generation ? distances[cell] : Integer.MAX_VALUE;
+    }
+
+    public void setDistance(int cell, int distance) {
+        stamps[cell] = generation;
+        distances[cell] = distance;
+    }
+
+    /** The parent recorded for {@code cell} in this search; only meaningful once it was set. */
+    public int getParent(int cell) {
+        return parents[cell];
+    }
+
+    public void setParent(int cell, int parent) {
+        parents[cell] = parent;
+    }
+
+    /** Returns a second workspace on the same thread for the backward half of a bidirectional search. */
+    public SearchWorkspace reverse() {
+        if (reverse == null) {
+            reverse = newWorkspace();
+        }
+        reverse.begin(cellCount);
+        return reverse;
+    }
+
+    SearchWorkspace newWorkspace() {
+        return new SearchWorkspace();
+    }
+
+    /** A scratch queue or stack; callers that fill it grow it with {@link #growQueue()}. */
+    public int[] queue() { return queue; }
+
+    /** Doubles the scratch queue, keeping its contents, and returns it. */
+    public int[] growQueue() {
+        queue = Arrays.copyOf(queue, Math.max(16, queue.length * 2));
+        return queue;
+    }
+
+    public int[] neighbors() { return neighbors; }
+    public IndexedHeap heap() { return heap; }
+}
@@ -0,0 +1,82 @@
+package algorithms;
+
+import model.GridModel;
+
+/**
+ * Shared engine for Dijkstra and A*: g-scores and parents in a
+ * {@link SearchWorkspace}, and an {@link IndexedHeap} keyed by f = g + h with
+ * ties broken toward the smaller h. Nothing is allocated inside the expansion loop.
+ */
+public abstract class ShortestPathAlgorithm extends Algorithm {
+    protected abstract int heuristic(GridModel grid, int cell, int end);
+
+    protected static long priority(int g, int h) {
+        return ((long) (g + h) << 32) | h;
+    }
+
+    @Override
+    protected SearchStepper createStepper(GridModel grid, int start, int end,
+                                          SearchListener listener, SearchWorkspace workspace) {
+        return new Stepper(grid, start, end, listener, workspace);
+    }
+
+    private class Stepper extends SearchStepper {
+        private final GridModel grid;
+        private final int start, end;
+        private final SearchListener listener;
+        private final SearchWorkspace workspace;
+        private final IndexedHeap openSet;
+        private final int[] neighbors;
+
+        Stepper(GridModel grid, int start, int end, SearchListener listener, SearchWorkspace workspace) {
+            this.grid = grid;
+            this.start = start;
+            this.end = end;
+            this.listener = listener;
+            this.workspace = workspace;
+            this.openSet = workspace.heap();
+            this.neighbors = workspace.neighbors();
+
+            openSet.push(start, priority(0, heuristic(grid, start, end)));
+            workspace.setDistance(start, 0);
+        }
+
+        @Override
+        protected int openSetSize() {
+            return openSet.size();
+        }
+
+        @Override
+        protected void expandNext() {
+            if (openSet.isEmpty()) {
+                noPathFound(listener);
+                finish(null);
+                return;
+            }
+
+            int current = openSet.pop();
+            countPop();
+
+            markSearching(listener, current);
+
+            if (current == end) {
+                finish(highlightPath(grid, workspace, start, end, listener));
+                return;
+            }
+
+            int newCost = workspace.getDistance(current) + 1;
+            int count = getNeighbors(grid, current, neighbors);
+            for (int i = 0; i < count; i++) {
+                int neighbor = neighbors[i];
+                if (grid.isWall(neighbor)) continue;
+                countGenerated();
+                if (newCost < workspace.getDistance(neighbor)) {
+                    workspace.setDistance(neighbor, newCost);
+                    workspace.setParent(neighbor, current);
+                    openSet.push(neighbor, priority(newCost, heuristic(grid, neighbor, end)));
+                    countPush();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package benchmark;
+
+import algorithms.Algorithm;
+import algorithms.AlgorithmRegistry;
+import maze.RecursiveBacktrackerGenerator;
+import model.GridModel;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Headless benchmark for every registered algorithm (zero delay, no GridPanel).
+ * Each algorithm/map/size case is warmed up, then measured for a fixed time;
+ * reports throughput, latency percentiles and bytes allocated per query.
+ *
+ * Usage: PathfindingBenchmark [--sizes 21x59,256x256] [--maps open,random,maze]
+ *        [--algorithms "A*,Dijkstra"] [--warmup-ms 1000] [--measure-ms 3000]
+ */
+public class PathfindingBenchmark {
+    private static final Supplier<Boolean> NEVER_STOP = () -> false;
+    private static final long SEED = 42;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) {
+        List<String> sizes = Arrays.asList("21x59", "256x256", "1024x1024", "4096x4096");
+        List<String> maps = Arrays.asList("open", "random", "maze");
+        List<String> algorithms = new ArrayList<>(AlgorithmRegistry.names());
+        long warmupMillis = 1000, measureMillis = 3000;
+
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 == args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+            switch (args[i]) {
+                case "--sizes": sizes = Arrays.asList(args[i + 1].split(",")); break;
+                case "--maps": maps = Arrays.asList(args[i + 1].split(",")); break;
+                case "--algorithms": algorithms = Arrays.asList(args[i + 1].split(",")); break;
+                case "--warmup-ms": warmupMillis = Long.parseLong(args[i + 1]); break;
+                case "--measure-ms": measureMillis = Long.parseLong(args[i + 1]); break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        new PathfindingBenchmark().run(sizes, maps, algorithms, warmupMillis, measureMillis);
+    }
+
+    private void run(List<String> sizes, List<String> maps, List<String> algorithms,
+                     long warmupMillis, long measureMillis) {
+        threads.setThreadAllocatedMemoryEnabled(true);
+        System.out.printf("%-20s %-7s %-10s %10s %10s %10s %10s %10s %14s%n",
+                "algorithm", "map", "size", "ops/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "alloc B/op");
+
+        for (String size : sizes) {
+            String[] dims = size.split("x");
+            int rows = Integer.parseInt(dims[0]), cols = Integer.parseInt(dims[1]);
+            for (String map : maps) {
+                GridModel grid = buildMap(map, rows, cols);
+                // Maze passages sit on odd coordinates, so use the last odd cell as the goal
+                int start = grid.cellId(1, 1);
+                int end = grid.cellId(lastOdd(rows), lastOdd(cols));
+                grid.setWall(start, false);
+                grid.setWall(end, false);
+
+                for (String name : algorithms) {
+                    Algorithm algorithm = AlgorithmRegistry.get(name);
+                    measure(algorithm, grid, start, end, warmupMillis);
+                    Result result = measure(algorithm, grid, start, end, measureMillis);
+                    System.out.printf("%-20s %-7s %-10s %10.1f %10.3f %10.3f %10.3f %10.3f %14d%n",
+                            name, map, size, result.throughput(),
+                            result.percentile(0.50), result.percentile(0.90),
+                            result.percentile(0.99), result.percentile(1.0), result.bytesPerOp());
+                }
+            }
+        }
+    }
+
+    private Result measure(Algorithm algorithm, GridModel grid, int start, int end, long millis) {
+        long[] latencies = new long[1024];
+        int count = 0;
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long began = System.nanoTime();
+        long deadline = began + millis * 1_000_000L;
+
+        // Always take a few samples so multi-second queries still report something
+        while (count < 3 || System.nanoTime() < deadline) {
+            long t0 = System.nanoTime();
+            algorithm.findPath(grid, start, end, null, 0, NEVER_STOP);
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = System.nanoTime() - t0;
+        }
+
+        long elapsed = System.nanoTime() - began;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        return new Result(Arrays.copyOf(latencies, count), elapsed, allocated);
+    }
+
+    private static int lastOdd(int length) {
+        return (length - 2) % 2 == 1 ? length - 2 : length - 3;
+    }
+
+    static GridModel buildMap(String map, int rows, int cols) {
+        GridModel grid = new GridModel(cols, rows);
+        Random random = new Random(SEED);
+        switch (map) {
+            case "open":
+                break;
+            case "random":
+                for (int cell = 0; cell < grid.size(); cell++) {
+                    grid.setWall(cell, random.nextInt(100) < 25);
+                }
+                break;
+            case "maze":
+                RecursiveBacktrackerGenerator.getInstance().generate(grid, SEED);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown map type: " + map);
+        }
+        return grid;
+    }
+
+    private static class Result {
+        final long[] latencies;
+        final long elapsedNanos;
+        final long allocatedBytes;
+
+        Result(long[] latencies, long elapsedNanos, long allocatedBytes) {
+            this.latencies = latencies;
+            this.elapsedNanos = elapsedNanos;
+            this.allocatedBytes = allocatedBytes;
+            Arrays.sort(latencies);
+        }
+
+        double throughput() {
+            return latencies.length * 1e9 / elapsedNanos;
+        }
+
+        double percentile(double p) {
+            int index = (int) Math.ceil(p * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(index, latencies.length - 1))] / 1e6;
+        }
+
+        long bytesPerOp() {
+            return allocatedBytes / latencies.length;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package benchmark;
+
+import algorithms.Algorithm;
+import algorithms.AlgorithmRegistry;
+import algorithms.SearchListener;
+import io.MapFiles;
+import model.GridModel;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Runs every registered algorithm (or a chosen few) over a Moving AI {@code .scen}
+ * scenario file, headless and with zero delay. Each algorithm first runs the
+ * whole set for the warm-up rounds, then for the measured rounds. It reports, per
+ * bucket, the mean and p99 latency, expansions per query and queries per second.
+ *
+ * Scenario optima assume octile moves, but this grid only moves orthogonally, so
+ * each path is checked against a breadth-first 4-connected optimum computed up
+ * front. A path shorter than the scenario's optimum means the map does not match
+ * the scenario and is counted as invalid.
+ *
+ * Usage: ScenarioBenchmark file.scen [--map file.map] [--algorithms "A*,Dijkstra"]
+ *        [--warmup-rounds 1] [--rounds 1]
+ */
+public class ScenarioBenchmark {
+    private static final Supplier<Boolean> NEVER_STOP = () -> false;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: ScenarioBenchmark file.scen [--map file.map] [--algorithms \"A*,Dijkstra\"]"
+                    + " [--warmup-rounds 1] [--rounds 1]");
+            System.exit(2);
+        }
+        Path scenario = Paths.get(args[0]);
+        Path map = null;
+        List<String> algorithms = new ArrayList<>(AlgorithmRegistry.names());
+        int warmupRounds = 1, rounds = 1;
+
+        for (int i = 1; i < args.length; i += 2) {
+            if (i + 1 == args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+            switch (args[i]) {
+                case "--map": map = Paths.get(args[i + 1]); break;
+                case "--algorithms": algorithms = Arrays.asList(args[i + 1].split(",")); break;
+                case "--warmup-rounds": warmupRounds = Integer.parseInt(args[i + 1]); break;
+                case "--rounds": rounds = Math.max(1, Integer.parseInt(args[i + 1])); break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        List<Query> queries = load(scenario, map);
+        System.out.printf("%d queries from %s%n", queries.size(), scenario);
+        new ScenarioBenchmark().run(queries, algorithms, warmupRounds, rounds);
+    }
+
+    private void run(List<Query> queries, List<String> algorithms, int warmupRounds, int rounds) {
+        System.out.printf("%-20s %7s %8s %10s %10s %12s %10s %8s %8s%n", "algorithm", "bucket", "queries",
+                "mean ms", "p99 ms", "exp/query", "queries/s", "invalid", "subopt");
+
+        for (String name : algorithms) {
+            Algorithm algorithm = AlgorithmRegistry.get(name);
+            for (int round = 0; round < warmupRounds; round++) {
+                for (Query query : queries) {
+                    algorithm.findPath(query.grid, query.start, query.end, null, 0, NEVER_STOP);
+                }
+            }
+
+            Map<Integer, Bucket> buckets = new TreeMap<>();
+            Bucket all = new Bucket();
+            ExpansionCounter counter = new ExpansionCounter();
+            for (int round = 0; round < rounds; round++) {
+                for (Query query : queries) {
+                    counter.expansions = 0;
+                    long began = System.nanoTime();
+                    int[] path = algorithm.findPath(query.grid, query.start, query.end, counter, 0, NEVER_STOP);
+                    long latency = System.nanoTime() - began;
+
+                    Bucket bucket = buckets.computeIfAbsent(query.bucket, b -> new Bucket());
+                    int verdict = round == 0 ? query.check(path) : Bucket.OK;
+                    bucket.add(latency, counter.expansions, verdict);
+                    all.add(latency, counter.expansions, verdict);
+                }
+            }
+
+            for (Map.Entry<Integer, Bucket> entry : buckets.entrySet()) {
+                entry.getValue().print(name, String.valueOf(entry.getKey()));
+            }
+            all.print(name, "all");
+        }
+    }
+
+    static List<Query> load(Path scenario, Path mapOverride) throws IOException {
+        List<Query> queries = new ArrayList<>();
+        Map<Path, GridModel> maps = new HashMap<>();
+        try (BufferedReader in = Files.newBufferedReader(scenario, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith("version")) {
+                    continue;
+                }
+                String[] fields = line.split("\t");
+                if (fields.length < 9) {
+                    fields = line.trim().split("\\s+");
+                }
+                if (fields.length < 9) {
+                    throw new IOException(scenario + ":" + lineNumber + ": expected 9 fields");
+                }
+
+                Path mapFile = mapOverride != null ? mapOverride : resolveMap(scenario, fields[1]);
+                GridModel grid = maps.get(mapFile);
+                if (grid == null) {
+                    grid = MapFiles.read(mapFile);
+                    maps.put(mapFile, grid);
+                }
+                int width = Integer.parseInt(fields[2]), height = Integer.parseInt(fields[3]);
+                if (width != grid.getWidth() || height != grid.getHeight()) {
+                    throw new IOException(scenario + ":" + lineNumber + ": scenario expects a " + width + "x"
+                            + height + " map but " + mapFile + " is " + grid.getWidth() + "x" + grid.getHeight());
+                }
+                int start = grid.cellId(Integer.parseInt(fields[5]), Integer.parseInt(fields[4]));
+                int end = grid.cellId(Integer.parseInt(fields[7]), Integer.parseInt(fields[6]));
+                queries.add(new Query(Integer.parseInt(fields[0]), grid, start, end, Double.parseDouble(fields[8])));
+            }
+        }
+        return queries;
+    }
+
+    // Scenario files name maps relative to the benchmark root; fall back to a map next to the scenario
+    private static Path resolveMap(Path scenario, String name) {
+        Path directory = scenario.toAbsolutePath().getParent();
+        Path map = directory.resolve(name);
+        return Files.exists(map) ? map : directory.resolve(Paths.get(name).getFileName());
+    }
+
+    static class Query {
+        final int bucket;
+        final GridModel grid;
+        final int start, end;
+        final double scenarioOptimal;
+        final int optimal;
+
+        Query(int bucket, GridModel grid, int start, int end, double scenarioOptimal) {
+            this.bucket = bucket;
+            this.grid = grid;
+            this.start = start;
+            this.end = end;
+            this.scenarioOptimal = scenarioOptimal;
+            int[] reference = AlgorithmRegistry.get("Breadth First").findPath(grid, start, end, null, 0, NEVER_STOP);
+            this.optimal = reference == null ? -1 : reference.length - 1;
+        }
+
+        int check(int[] path) {
+            if (path == null) {
+                return optimal < 0 ? Bucket.OK : Bucket.INVALID;
+            }
+            if (path[0] != start || path[path.length - 1] != end) {
+                return Bucket.INVALID;
+            }
+            int width = grid.getWidth();
+            for (int i = 0; i < path.length; i++) {
+                if (grid.isWall(path[i])) {
+                    return Bucket.INVALID;
+                }
+                if (i > 0) {
+                    int step = Math.abs(path[i] - path[i - 1]);
+                    boolean sameRow = path[i] / width == path[i - 1] / width;
+                    if (!(step == width || (step == 1 && sameRow))) {
+                        return Bucket.INVALID;
+                    }
+                }
+            }
+            int length = path.length - 1;
+            if (length < scenarioOptimal - 1e-6 || length < optimal) {
+                return Bucket.INVALID;
+            }
+            return length == optimal ? Bucket.OK : Bucket.SUBOPTIMAL;
+        }
+    }
+
+    private static class ExpansionCounter implements SearchListener {
+        long expansions;
+
+        @Override
+        public void onExpand(int cell) {
+            expansions++;
+        }
+    }
+
+    private static class Bucket {
+        static final int OK = 0, INVALID = 1, SUBOPTIMAL = 2;
+
+        private long[] latencies = new long[64];
+        private int count;
+        private long expansions;
+        private int invalid, suboptimal;
+
+        void add(long latency, long expanded, int verdict) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+            expansions += expanded;
+            if (verdict == INVALID) invalid++;
+            if (verdict == SUBOPTIMAL) suboptimal++;
+        }
+
+        void print(String algorithm, String label) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            long total = 0;
+            for (long latency : sorted) {
+                total += latency;
+            }
+            long p99 = sorted[Math.max(0, (int) Math.ceil(0.99 * count) - 1)];
+            System.out.printf("%-20s %7s %8d %10.3f %10.3f %12.1f %10.1f %8d %8d%n", algorithm, label, count,
+                    total / 1e6 / count, p99 / 1e6, (double) expansions / count,
+                    count * 1e9 / Math.max(1, total), invalid, suboptimal);
+        }
+    }
+}
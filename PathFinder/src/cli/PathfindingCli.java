@@ -0,0 +1,219 @@
+package cli;
+
+import algorithms.Algorithm;
+import algorithms.AlgorithmRegistry;
+import io.MapFiles;
+import model.GridModel;
+import model.MappedGridModel;
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Supplier;
+
+/**
+ * Headless entry point: loads a map, answers queries with zero delay and
+ * streams the paths out, without touching Swing.
+ *
+ * Each query line is "startX startY goalX goalY" (column first, as in Moving AI
+ * scenarios); lines of a .scen file are accepted as they are. Blank lines and
+ * lines starting with '#' or "version" are skipped. Each answer is one line: the
+ * path length in moves followed by the "x,y" cells of the path, or -1 when there
+ * is no path. With --format length only the length is written.
+ *
+ * Maps may be Moving AI .map, run-length .rle, or a memory-mapped .grid file.
+ *
+ * Usage: PathfindingCli --map file [--algorithm "A*"] [--queries file|-]
+ *        [--output file|-] [--format path|length]
+ */
+public class PathfindingCli {
+    private static final Supplier<Boolean> NEVER_STOP = () -> false;
+
+    public static void main(String[] args) {
+        Path map = null, queries = null, output = null;
+        String algorithmName = "A*";
+        boolean pathsOut = true;
+
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 == args.length) {
+                usage("Missing value for " + args[i]);
+            }
+            switch (args[i]) {
+                case "--map": map = Paths.get(args[i + 1]); break;
+                case "--algorithm": algorithmName = args[i + 1]; break;
+                case "--queries": queries = args[i + 1].equals("-") ? null : Paths.get(args[i + 1]); break;
+                case "--output": output = args[i + 1].equals("-") ? null : Paths.get(args[i + 1]); break;
+                case "--format": pathsOut = !args[i + 1].equals("length"); break;
+                default: usage("Unknown option: " + args[i]);
+            }
+        }
+        if (map == null) {
+            usage("--map is required");
+        }
+
+        try {
+            Algorithm algorithm = AlgorithmRegistry.get(algorithmName);
+            long began = System.nanoTime();
+            GridModel grid = load(map);
+            long loaded = System.nanoTime();
+            int answered = run(grid, algorithm, queries, output, pathsOut);
+            long finished = System.nanoTime();
+            System.err.printf("%s: loaded %dx%d map in %.1f ms, answered %d queries in %.1f ms%n",
+                    algorithmName, grid.getWidth(), grid.getHeight(), (loaded - began) / 1e6,
+                    answered, (finished - loaded) / 1e6);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static void usage(String problem) {
+        System.err.println(problem);
+        System.err.println("Usage: PathfindingCli --map file [--algorithm \"A*\"] [--queries file|-]"
+                + " [--output file|-] [--format path|length]");
+        System.err.println("Algorithms: " + String.join(", ", AlgorithmRegistry.names()));
+        System.exit(2);
+    }
+
+    private static GridModel load(Path map) throws IOException {
+        return map.getFileName().toString().endsWith(".grid")
+                ? MappedGridModel.open(map, false)
+                : MapFiles.read(map);
+    }
+
+    private static int run(GridModel grid, Algorithm algorithm, Path queries, Path output, boolean pathsOut)
+            throws IOException {
+        BufferedReader in = queries == null
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(queries, StandardCharsets.UTF_8);
+        WritableByteChannel channel = output == null
+                ? new FileOutputStream(FileDescriptor.out).getChannel()
+                : FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+        int answered = 0;
+        try (in; Output out = new Output(channel, output != null)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#") || trimmed.startsWith("version")) {
+                    continue;
+                }
+                String[] fields = trimmed.split("\\s+");
+                // Scenario lines carry bucket, map and size ahead of the coordinates
+                int first = fields.length >= 9 ? 4 : 0;
+                if (fields.length < first + 4) {
+                    throw new IllegalArgumentException("line " + lineNumber + ": expected startX startY goalX goalY");
+                }
+                int start = cell(grid, fields, first, lineNumber);
+                int end = cell(grid, fields, first + 2, lineNumber);
+
+                int[] path = algorithm.findPath(grid, start, end, null, 0, NEVER_STOP);
+                out.writePath(grid.getWidth(), path, pathsOut);
+                answered++;
+                // Answer interactive callers as soon as they stop sending, not when the buffer fills
+                if (!in.ready()) {
+                    out.flush();
+                }
+            }
+        }
+        return answered;
+    }
+
+    private static int cell(GridModel grid, String[] fields, int index, int lineNumber) {
+        int x, y;
+        try {
+            x = Integer.parseInt(fields[index]);
+            y = Integer.parseInt(fields[index + 1]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("line " + lineNumber + ": bad coordinate in " + String.join(" ", fields));
+        }
+        if (!grid.inBounds(y, x)) {
+            throw new IllegalArgumentException("line " + lineNumber + ": (" + x + "," + y + ") is outside the map");
+        }
+        int cell = grid.cellId(y, x);
+        if (grid.isWall(cell)) {
+            throw new IllegalArgumentException("line " + lineNumber + ": (" + x + "," + y + ") is a wall");
+        }
+        return cell;
+    }
+
+    /** Buffered ASCII output that formats numbers straight into the buffer. */
+    private static final class Output implements AutoCloseable {
+        private final WritableByteChannel channel;
+        private final boolean closeChannel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        private final byte[] digits = new byte[10];
+
+        Output(WritableByteChannel channel, boolean closeChannel) {
+            this.channel = channel;
+            this.closeChannel = closeChannel;
+        }
+
+        void writePath(int width, int[] path, boolean cells) throws IOException {
+            if (path == null) {
+                writeInt(-1);
+            } else {
+                writeInt(path.length - 1);
+                if (cells) {
+                    for (int cell : path) {
+                        int row = cell / width;
+                        write(' ');
+                        writeInt(cell - row * width);
+                        write(',');
+                        writeInt(row);
+                    }
+                }
+            }
+            write('\n');
+        }
+
+        private void writeInt(int value) throws IOException {
+            if (value < 0) {
+                write('-');
+                value = -value;
+            }
+            int count = 0;
+            do {
+                digits[count++] = (byte) ('0' + value % 10);
+                value /= 10;
+            } while (value > 0);
+            while (count > 0) {
+                write(digits[--count]);
+            }
+        }
+
+        private void write(int b) throws IOException {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            buffer.put((byte) b);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+            if (closeChannel) {
+                channel.close();
+            }
+        }
+    }
+}
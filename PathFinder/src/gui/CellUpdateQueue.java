@@ -0,0 +1,51 @@
+package gui;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+/**
+ * Bounded multi-producer, single-consumer ring of packed cell updates. Search and
+ * maze threads publish into it without locks and the EDT drains it once per
+ * frame; a producer only waits when the EDT has fallen a whole ring behind.
+ */
+class CellUpdateQueue {
+    private final AtomicIntegerArray slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    CellUpdateQueue(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        slots = new AtomicIntegerArray(capacity);
+        mask = capacity - 1;
+    }
+
+    /** Publishes a non-negative update. Slots hold {@code update + 1} so zero marks an empty slot. */
+    void offer(int update) {
+        long index = tail.getAndIncrement();
+        while (index - head > mask) {
+            Thread.yield();
+        }
+        slots.set((int) (index & mask), update + 1);
+    }
+
+    /** Hands up to {@code limit} published updates to {@code consumer} in order; EDT only. */
+    int drain(IntConsumer consumer, int limit) {
+        long current = head;
+        int drained = 0;
+        while (drained < limit) {
+            int slot = (int) (current & mask);
+            int value = slots.get(slot);
+            if (value == 0) break;
+            slots.lazySet(slot, 0);
+            consumer.accept(value - 1);
+            current++;
+            drained++;
+        }
+        head = current;
+        return drained;
+    }
+}
@@ -1,69 +1,108 @@
 package gui;
 
 import algorithms.*;
+import maze.MazeGenerator;
+import model.ComponentIndex;
+import model.GridModel;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.util.*;
 import java.util.List;
+import java.util.function.IntConsumer;
 import java.util.function.Supplier;
 
-public class GridPanel extends JPanel {
+public class GridPanel extends JPanel implements SearchListener {
+    static final byte EMPTY = 0, WALL = 1, START = 2, END = 3, SEARCHING = 4, VISITED = 5, PATH = 6;
+    private static final int CLEAR_OVERLAY = 8, CLEAR_ALL = 9;
+    private static final int FRAME_MILLIS = 16;
+    private static final int UPDATES_PER_FRAME = 1 << 16;
+    private static final int MAZE_PLAYBACK_MILLIS = 1500;
+    private static final Color[] STATE_COLORS = {
+            Color.WHITE,
+            new Color(52, 73, 94),
+            new Color(46, 204, 113),
+            new Color(231, 76, 60),
+            new Color(255, 165, 0),
+            new Color(52, 152, 219),
+            new Color(241, 196, 15)
+    };
+
     public final int rows, cols;
-    public final Node[][] grid;
-    public Node startNode, endNode;
+    public final GridModel model;
+    private final ComponentIndex components;
+    private boolean livePath;
+    // Live paths replan on a planner of their own, so they never supersede a D* Lite search being run
+    private final DStarLiteAlgorithm livePlanner =
+            (DStarLiteAlgorithm) DStarLiteAlgorithm.getInstance().privateInstance();
+    private final PathCache pathCache = new PathCache(256);
+    private MeteredSearch lastSearch;
+    private javax.swing.Timer mazeTimer;
+    private Runnable mazeDone;
+    private final byte[] cellStates;
+    private final CellUpdateQueue updates = new CellUpdateQueue(1 << 16);
+    private final IntConsumer applyUpdate = this::applyUpdate;
+    private final javax.swing.Timer frameTimer = new javax.swing.Timer(FRAME_MILLIS, e -> drainUpdates());
+    private int dirtyMinRow, dirtyMaxRow, dirtyMinCol, dirtyMaxCol;
+    public int startCell = -1, endCell = -1;
     private boolean isDraggingStart = false;
     private boolean isDraggingEnd = false;
     private boolean isDrawing = false;
     private boolean isErasing = false;
-    private final int cellSize = 25;
-    private Node currentlySearching;
+    private boolean editable = true;
+    private final int cellSize;
+    private int currentlySearching = -1;
     public Point lastValidStartPos;
     public Point lastValidEndPos;
 
     public GridPanel(int rows, int cols) {
+        this(rows, cols, 25);
+    }
+
+    public GridPanel(int rows, int cols, int cellSize) {
         this.rows = rows;
         this.cols = cols;
-        this.grid = new Node[rows][cols];
+        this.cellSize = cellSize;
+        this.model = new GridModel(cols, rows);
+        this.components = new ComponentIndex(model);
+        this.cellStates = new byte[model.size()];
 
-        setLayout(null);
         setBackground(new Color(200, 200, 200));
         setPreferredSize(new Dimension(cols * cellSize, rows * cellSize));
-        initializeGrid();
+
+        resetDirtyRegion();
 
         // Initialize start and end nodes at default positions
-        startNode = grid[rows/2][cols/4];
-        endNode = grid[rows/2][3*cols/4];
-        startNode.setStart();
-        endNode.setEnd();
-        lastValidStartPos = new Point(cols/4, rows/2);
-        lastValidEndPos = new Point(3*cols/4, rows/2);
+        resetEndpoints();
 
         setupMouseListeners();
+        frameTimer.start();
     }
 
     private void setupMouseListeners() {
         MouseAdapter mouseAdapter = new MouseAdapter() {
             public void mousePressed(MouseEvent e) {
+                if (!editable) return;
                 int col = e.getX() / cellSize;
                 int row = e.getY() / cellSize;
 
                 if (row >= 0 && row < rows && col >= 0 && col < cols) {
-                    Node clickedNode = grid[row][col];
+                    int clicked = model.cellId(row, col);
                     if (SwingUtilities.isLeftMouseButton(e)) {
-                        if (clickedNode == startNode) {
+                        if (clicked == startCell) {
                             isDraggingStart = true;
-                        } else if (clickedNode == endNode) {
+                        } else if (clicked == endCell) {
                             isDraggingEnd = true;
-                        } else if (clickedNode != startNode && clickedNode != endNode &&
-                                !((PathfindingVisualizer)SwingUtilities.getWindowAncestor(GridPanel.this)).mazeGenerated) {
+                        } else if (!((PathfindingVisualizer)SwingUtilities.getWindowAncestor(GridPanel.this)).mazeGenerated) {
                             isDrawing = true;
-                            clickedNode.setWall();
+                            setWall(row, col);
+                            updateLivePath();
                         }
                     } else if (SwingUtilities.isRightMouseButton(e)) {
                         isErasing = true;
-                        if (clickedNode != startNode && clickedNode != endNode) {
-                            clickedNode.reset();
+                        if (clicked != startCell && clicked != endCell) {
+                            reset(row, col);
+                            updateLivePath();
                         }
                     }
                 }
@@ -74,25 +113,27 @@ public class GridPanel extends JPanel {
                 int row = e.getY() / cellSize;
 
                 if (row >= 0 && row < rows && col >= 0 && col < cols) {
-                    Node draggedNode = grid[row][col];
-                    if (isDraggingStart && draggedNode != endNode && !draggedNode.isWall()) {
-                        startNode.reset();
-                        startNode = draggedNode;
-                        startNode.setStart();
-                        lastValidStartPos = new Point(col, row);
-                    } else if (isDraggingEnd && draggedNode != startNode && !draggedNode.isWall()) {
-                        endNode.reset();
-                        endNode = draggedNode;
-                        endNode.setEnd();
-                        lastValidEndPos = new Point(col, row);
+                    int dragged = model.cellId(row, col);
+                    if (isDraggingStart && dragged != endCell && !model.isWall(dragged)) {
+                        if (dragged != startCell) {
+                            setStart(row, col);
+                            updateLivePath();
+                        }
+                    } else if (isDraggingEnd && dragged != startCell && !model.isWall(dragged)) {
+                        if (dragged != endCell) {
+                            setEnd(row, col);
+                            updateLivePath();
+                        }
                     } else if (isDrawing && SwingUtilities.isLeftMouseButton(e) &&
                             !((PathfindingVisualizer)SwingUtilities.getWindowAncestor(GridPanel.this)).mazeGenerated) {
-                        if (draggedNode != startNode && draggedNode != endNode) {
-                            draggedNode.setWall();
+                        if (dragged != startCell && dragged != endCell) {
+                            setWall(row, col);
+                            updateLivePath();
                         }
                     } else if (isErasing && SwingUtilities.isRightMouseButton(e)) {
-                        if (draggedNode != startNode && draggedNode != endNode) {
-                            draggedNode.reset();
+                        if (dragged != startCell && dragged != endCell) {
+                            reset(row, col);
+                            updateLivePath();
                         }
                     }
                 }
@@ -100,16 +141,12 @@ public class GridPanel extends JPanel {
 
             public void mouseReleased(MouseEvent e) {
                 if (isDraggingStart) {
-                    if (startNode.isWall()) {
-                        startNode.reset();
-                        startNode = grid[lastValidStartPos.y][lastValidStartPos.x];
-                        startNode.setStart();
+                    if (model.isWall(startCell)) {
+                        setStart(lastValidStartPos.y, lastValidStartPos.x);
                     }
                 } else if (isDraggingEnd) {
-                    if (endNode.isWall()) {
-                        endNode.reset();
-                        endNode = grid[lastValidEndPos.y][lastValidEndPos.x];
-                        endNode.setEnd();
+                    if (model.isWall(endCell)) {
+                        setEnd(lastValidEndPos.y, lastValidEndPos.x);
                     }
                 }
                 isDraggingStart = false;
@@ -123,139 +160,400 @@ public class GridPanel extends JPanel {
         addMouseMotionListener(mouseAdapter);
     }
 
-    private void initializeGrid() {
-        for (int row = 0; row < rows; row++) {
-            for (int col = 0; col < cols; col++) {
-                Node node = new Node(row, col);
-                node.setBounds(col * cellSize, row * cellSize, cellSize, cellSize);
-                grid[row][col] = node;
-                add(node);
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+
+        int firstRow = Math.max(0, clip.y / cellSize);
+        int lastRow = Math.min(rows - 1, (clip.y + clip.height) / cellSize);
+        int firstCol = Math.max(0, clip.x / cellSize);
+        int lastCol = Math.min(cols - 1, (clip.x + clip.width) / cellSize);
+        boolean drawBorders = cellSize >= 4;
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            int y = row * cellSize;
+            int cell = model.cellId(row, firstCol);
+            for (int col = firstCol; col <= lastCol; col++, cell++) {
+                int x = col * cellSize;
+                g.setColor(STATE_COLORS[cellStates[cell]]);
+                g.fillRect(x, y, cellSize, cellSize);
+                if (drawBorders) {
+                    g.setColor(Color.LIGHT_GRAY);
+                    g.drawRect(x, y, cellSize - 1, cellSize - 1);
+                }
             }
         }
     }
 
-    public void setCurrentlySearching(Node node) {
-        if (currentlySearching != null && currentlySearching != startNode &&
-                currentlySearching != endNode) {
-            currentlySearching.setVisited();
-        }
-        currentlySearching = node;
-        if (node != null && node != startNode && node != endNode) {
-            node.setSearching();
+    /**
+     * Records a display change. Other threads only enqueue it for the next frame;
+     * on the EDT anything already queued is applied first to keep updates ordered.
+     */
+    private void post(int cell, int op) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            drainUpdates();
+            applyUpdate(cell << 4 | op);
+            repaintDirtyRegion();
+        } else {
+            updates.offer(cell << 4 | op);
         }
     }
 
-    public void generateMaze() {
-        clearGrid();
-        Random random = new Random();
+    private void drainUpdates() {
+        if (updates.drain(applyUpdate, UPDATES_PER_FRAME) > 0) {
+            repaintDirtyRegion();
+        }
+    }
 
-        // Initialize all cells as walls
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                grid[i][j].setWall();
+    private void applyUpdate(int update) {
+        int cell = update >>> 4, op = update & 15;
+        if (op == CLEAR_OVERLAY || op == CLEAR_ALL) {
+            for (int i = 0; i < cellStates.length; i++) {
+                if (op == CLEAR_ALL || cellStates[i] >= SEARCHING) {
+                    cellStates[i] = EMPTY;
+                }
             }
+            markDirty(0, 0);
+            markDirty(rows - 1, cols - 1);
+            return;
+        }
+
+        // Overlay updates that arrive after an edit must not paint over walls or endpoints
+        if (op >= SEARCHING && cellStates[cell] >= WALL && cellStates[cell] <= END) {
+            return;
         }
+        cellStates[cell] = (byte) op;
+        markDirty(model.rowOf(cell), model.colOf(cell));
+    }
 
-        // Recursive backtracking maze generation
-        Stack<int[]> stack = new Stack<>();
-        int startRow = 1;
-        int startCol = 1;
-        grid[startRow][startCol].reset();
-        stack.push(new int[]{startRow, startCol});
+    private void markDirty(int row, int col) {
+        dirtyMinRow = Math.min(dirtyMinRow, row);
+        dirtyMaxRow = Math.max(dirtyMaxRow, row);
+        dirtyMinCol = Math.min(dirtyMinCol, col);
+        dirtyMaxCol = Math.max(dirtyMaxCol, col);
+    }
 
-        while (!stack.isEmpty()) {
-            int[] current = stack.peek();
-            int row = current[0];
-            int col = current[1];
+    private void resetDirtyRegion() {
+        dirtyMinRow = dirtyMinCol = Integer.MAX_VALUE;
+        dirtyMaxRow = dirtyMaxCol = -1;
+    }
 
-            List<int[]> unvisitedNeighbors = new ArrayList<>();
+    private void repaintDirtyRegion() {
+        if (dirtyMaxRow >= 0) {
+            repaint(dirtyMinCol * cellSize, dirtyMinRow * cellSize,
+                    (dirtyMaxCol - dirtyMinCol + 1) * cellSize, (dirtyMaxRow - dirtyMinRow + 1) * cellSize);
+            resetDirtyRegion();
+        }
+    }
 
-            int[][] directions = {{0, 2}, {2, 0}, {0, -2}, {-2, 0}};
-            for (int[] dir : directions) {
-                int newRow = row + dir[0];
-                int newCol = col + dir[1];
+    private void setState(int cell, byte state) {
+        post(cell, state);
+    }
 
-                if (newRow > 0 && newRow < rows-1 && newCol > 0 && newCol < cols-1
-                        && grid[newRow][newCol].isWall()) {
-                    unvisitedNeighbors.add(new int[]{newRow, newCol});
+    private void setOverlay(int cell, byte state) {
+        if (cell != startCell && cell != endCell) {
+            setState(cell, state);
+        }
+    }
+
+    public void setWall(int row, int col) {
+        int cell = model.cellId(row, col);
+        if (cell != startCell && cell != endCell) {
+            model.setWall(cell, true);
+            components.cellClosed(cell);
+            setState(cell, WALL);
+        }
+    }
+
+    public void reset(int row, int col) {
+        int cell = model.cellId(row, col);
+        model.setWall(cell, false);
+        components.cellOpened(cell);
+        if (cell == startCell) startCell = -1;
+        if (cell == endCell) endCell = -1;
+        setState(cell, EMPTY);
+    }
+
+    public void setStart(int row, int col) {
+        if (startCell >= 0) {
+            setState(startCell, EMPTY);
+        }
+        startCell = model.cellId(row, col);
+        setState(startCell, START);
+        lastValidStartPos = new Point(col, row);
+    }
+
+    public void setEnd(int row, int col) {
+        if (endCell >= 0) {
+            setState(endCell, EMPTY);
+        }
+        endCell = model.cellId(row, col);
+        setState(endCell, END);
+        lastValidEndPos = new Point(col, row);
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        frameTimer.start();
+    }
+
+    // Panels in closed windows stop draining so the timer does not keep them alive
+    @Override
+    public void removeNotify() {
+        super.removeNotify();
+        frameTimer.stop();
+    }
+
+    /** Disables mouse editing, for panels that only display a search. */
+    public void setEditable(boolean editable) {
+        this.editable = editable;
+    }
+
+    /** Replaces the walls and endpoints with those of {@code grid}, which must match this panel's size. */
+    public void loadLayout(GridModel grid, int start, int end) {
+        clearGrid();
+        for (int cell = 0; cell < model.size(); cell++) {
+            if (grid.isWall(cell)) {
+                setWall(model.rowOf(cell), model.colOf(cell));
+            }
+        }
+        setStart(model.rowOf(start), model.colOf(start));
+        setEnd(model.rowOf(end), model.colOf(end));
+    }
+
+    /**
+     * Replaces the walls with those of {@code grid}, cropped to this panel when it
+     * is larger. The endpoints stay where they are and are kept open.
+     */
+    public void loadWalls(GridModel grid) {
+        int start = startCell, end = endCell;
+        clearGrid();
+        if (start >= 0 && end >= 0) {
+            setStart(model.rowOf(start), model.colOf(start));
+            setEnd(model.rowOf(end), model.colOf(end));
+        } else {
+            resetEndpoints();
+        }
+        int height = Math.min(rows, grid.getHeight()), width = Math.min(cols, grid.getWidth());
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                if (grid.isWall(row, col)) {
+                    setWall(row, col);
                 }
             }
+        }
+    }
 
-            if (!unvisitedNeighbors.isEmpty()) {
-                int[] next = unvisitedNeighbors.get(random.nextInt(unvisitedNeighbors.size()));
-                int nextRow = next[0];
-                int nextCol = next[1];
+    public void resetEndpoints() {
+        setStart(rows/2, cols/4);
+        setEnd(rows/2, 3*cols/4);
+    }
 
-                grid[nextRow][nextCol].reset();
-                grid[(row + nextRow)/2][(col + nextCol)/2].reset();
+    public void setCurrentlySearching(int cell) {
+        if (currentlySearching >= 0) {
+            setOverlay(currentlySearching, VISITED);
+        }
+        currentlySearching = cell;
+        setOverlay(cell, SEARCHING);
+    }
 
-                stack.push(next);
-            } else {
-                stack.pop();
-            }
+    public void setPath(int cell) {
+        setOverlay(cell, PATH);
+    }
+
+    @Override
+    public void onExpand(int cell) {
+        setCurrentlySearching(cell);
+    }
+
+    @Override
+    public void onPath(int[] path) {
+        for (int i = path.length - 1; i > 0; i--) {
+            setPath(path[i]);
+        }
+    }
 
-            try {
-                Thread.sleep(5);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+    @Override
+    public void onNoPath() {
+        SwingUtilities.invokeLater(() ->
+                JOptionPane.showMessageDialog(this,
+                        "No path found.",
+                        "Search Complete",
+                        JOptionPane.INFORMATION_MESSAGE));
+    }
+
+    /**
+     * Builds a maze with {@code generator} on a scratch grid at full speed, then
+     * plays its changes back on the EDT over about {@link #MAZE_PLAYBACK_MILLIS}.
+     * {@code onDone} runs once the maze is complete or playback is cut short.
+     */
+    public void generateMaze(MazeGenerator generator, long seed, Runnable onDone) {
+        clearGrid();
+        GridModel scratch = new GridModel(cols, rows);
+        int[] changes = new int[2 * scratch.size()];
+        int[] count = {0};
+        generator.generate(scratch, seed, cell -> changes[count[0]++] = cell);
+
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                setWall(i, j);
             }
         }
 
-        // Set start and end nodes after maze generation
-        startNode = grid[1][1];
-        startNode.setStart();
-        lastValidStartPos = new Point(1, 1);
-        endNode = grid[rows-2][cols-2];
-        endNode.setEnd();
-        lastValidEndPos = new Point(cols-2, rows-2);
+        int perFrame = Math.max(1, count[0] * FRAME_MILLIS / MAZE_PLAYBACK_MILLIS);
+        int[] played = {0};
+        mazeDone = onDone;
+        mazeTimer = new javax.swing.Timer(FRAME_MILLIS, e -> {
+            int until = Math.min(count[0], played[0] + perFrame);
+            for (; played[0] < until; played[0]++) {
+                int cell = changes[played[0]];
+                if (model.isWall(cell)) {
+                    reset(model.rowOf(cell), model.colOf(cell));
+                } else {
+                    setWall(model.rowOf(cell), model.colOf(cell));
+                }
+            }
+            if (played[0] == count[0]) {
+                setStart(1, 1);
+                setEnd(rows-2, cols-2);
+                stopMazePlayback();
+            }
+        });
+        mazeTimer.start();
     }
 
-    public void startSearch(String algorithm, int delay, Supplier<Boolean> stopCondition) {
-        if (startNode == null || endNode == null) {
+    private void stopMazePlayback() {
+        if (mazeTimer != null) {
+            mazeTimer.stop();
+            mazeTimer = null;
+            Runnable done = mazeDone;
+            mazeDone = null;
+            done.run();
+        }
+    }
+
+    private boolean checkEndpoints() {
+        if (startCell < 0 || endCell < 0) {
             JOptionPane.showMessageDialog(this,
                     "Please set a start and end point.",
                     "Missing Points",
                     JOptionPane.INFORMATION_MESSAGE);
+            return false;
+        }
+        return true;
+    }
+
+    // Separate components mean no path, so report it without running the search
+    private boolean checkReachable() {
+        if (!components.connected(startCell, endCell)) {
+            clearOverlay();
+            onNoPath();
+            return false;
+        }
+        return true;
+    }
+
+    /** While enabled, every edit and endpoint drag replans incrementally and redraws the path. */
+    public void setLivePath(boolean enabled) {
+        livePath = enabled;
+        updateLivePath();
+    }
+
+    private void updateLivePath() {
+        if (!livePath || startCell < 0 || endCell < 0) {
             return;
         }
+        clearOverlay();
+        int[] path = components.connected(startCell, endCell)
+                ? livePlanner.replan(model, startCell, endCell) : null;
+        if (path != null) {
+            onPath(path);
+        }
+    }
 
-        // Clear previous paths
-        for (Node[] row : grid) {
-            for (Node node : row) {
-                if (node.isVisited() || node.isPath()) {
-                    SwingUtilities.invokeLater(() -> node.reset());
-                }
-            }
+    /** Runs the search headless at full speed and returns its trace for replay. */
+    public SearchTrace recordSearch(String algorithm, Supplier<Boolean> stopCondition) {
+        if (!checkEndpoints() || !checkReachable()) {
+            return null;
+        }
+        GridModel snapshot = model.copy();
+        SearchTrace trace = SearchTrace.record(algorithm, snapshot, startCell, endCell, stopCondition);
+        if (trace.hasPath()) {
+            pathCache.put(snapshot, algorithm, startCell, endCell, trace.getPath());
         }
+        return trace;
+    }
 
-        // Run the selected algorithm
-        switch(algorithm) {
-            case "Dijkstra":
-                DijkstraAlgorithm.getInstance().findPath(grid, startNode, endNode, this, delay, stopCondition);
-                break;
-            case "A*":
-                AStarAlgorithm.getInstance().findPath(grid, startNode, endNode, this, delay, stopCondition);
-                break;
-            case "Breadth First":
-                BreadthFirstAlgorithm.getInstance().findPath(grid, startNode, endNode, this, delay, stopCondition);
-                break;
-            case "Depth First":
-                DepthFirstAlgorithm.getInstance().findPath(grid, startNode, endNode, this, delay, stopCondition);
-                break;
-            case "Greedy Best First":
-                GreedyBestFirstAlgorithm.getInstance().findPath(grid, startNode, endNode, this, delay, stopCondition);
-                break;
+    /**
+     * Starts a resumable search on a snapshot of the grid. Returns null when there
+     * is nothing to run: no endpoints, no path, or a cached result already shown.
+     */
+    public SearchStepper createSearch(String algorithm) {
+        if (!checkEndpoints() || !checkReachable()) {
+            return null;
+        }
+        GridModel snapshot = model.copy();
+        lastSearch = null;
+        if (showCachedPath(snapshot, algorithm)) {
+            return null;
         }
+        clearOverlay();
+        lastSearch = new MeteredSearch(algorithm, snapshot, startCell, endCell, this);
+        return pathCache.recording(lastSearch, snapshot, algorithm, startCell, endCell);
     }
 
-    public void clearGrid() {
-        startNode = null;
-        endNode = null;
-        currentlySearching = null;
-        for (Node[] row : grid) {
-            for (Node node : row) {
-                node.reset();
-            }
+    private boolean showCachedPath(GridModel snapshot, String algorithm) {
+        int[] cached = pathCache.get(snapshot, algorithm, startCell, endCell);
+        if (cached == null) {
+            return false;
+        }
+        clearOverlay();
+        if (cached == PathCache.NO_PATH) {
+            onNoPath();
+        } else {
+            onPath(cached);
         }
+        return true;
+    }
+
+    /** Metrics of the search most recently started by {@link #createSearch}, or null. */
+    public SearchMetrics getLastMetrics() {
+        return lastSearch == null ? null : lastSearch.getMetrics();
+    }
+
+    /** Results of finished searches, keyed by wall layout; exposes hit and miss counts. */
+    public PathCache getPathCache() {
+        return pathCache;
+    }
+
+    public SearchStepper createReplay(SearchTrace trace) {
+        clearOverlay();
+        return trace.replayStepper(this);
+    }
+
+    /** Shows the trace as it stood after {@code step} expansions. */
+    public void showTraceStep(SearchTrace trace, int step) {
+        clearOverlay();
+        trace.replay(this, 0, step);
+    }
+
+    private void clearOverlay() {
+        currentlySearching = -1;
+        post(0, CLEAR_OVERLAY);
+    }
+
+    public void clearGrid() {
+        stopMazePlayback();
+        startCell = -1;
+        endCell = -1;
+        currentlySearching = -1;
+        model.fillWalls(false);
+        components.rebuild();
+        post(0, CLEAR_ALL);
     }
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package gui;
+
+import algorithms.SearchMetrics;
+import javax.swing.*;
+import java.awt.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shows the counters of the last search and keeps every run of the session so
+ * they can be exported as CSV or JSON.
+ */
+class MetricsPanel extends JPanel {
+    private final JLabel summary = new JLabel("Run a search to see its metrics");
+    private final List<SearchMetrics> history = new ArrayList<>();
+
+    MetricsPanel() {
+        super(new FlowLayout(FlowLayout.CENTER, 15, 5));
+        setBackground(Color.WHITE);
+        summary.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        add(summary);
+        add(exportButton("Export CSV", "csv"));
+        add(exportButton("Export JSON", "json"));
+    }
+
+    void show(SearchMetrics metrics) {
+        history.add(metrics);
+        summary.setText(String.format("%s | Expanded %d | Generated %d | Push/Pop %d/%d | Peak open %d | %s | %.2f ms | %s",
+                metrics.getAlgorithm(), metrics.getExpanded(), metrics.getGenerated(),
+                metrics.getPushes(), metrics.getPops(), metrics.getPeakOpenSetSize(),
+                !metrics.isFinished() ? "Stopped" : metrics.isFound() ? "Cost " + metrics.getPathCost() : "No path",
+                metrics.getElapsedNanos() / 1e6,
+                metrics.getAllocatedBytes() < 0 ? "alloc n/a" : metrics.getAllocatedBytes() / 1024 + " KB alloc"));
+    }
+
+    void showCached(String algorithm) {
+        summary.setText(algorithm + " | Result served from the path cache");
+    }
+
+    private JButton exportButton(String text, String extension) {
+        JButton button = new JButton(text);
+        button.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        button.setFocusPainted(false);
+        button.addActionListener(e -> export(extension));
+        return button;
+    }
+
+    private void export(String extension) {
+        if (history.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "No searches recorded yet.",
+                    "Export Metrics", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new java.io.File("search-metrics." + extension));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        String content = extension.equals("csv") ? SearchMetrics.toCsv(history) : SearchMetrics.toJson(history);
+        try {
+            Files.write(chooser.getSelectedFile().toPath(), content.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(this, "Could not write metrics: " + ex.getMessage(),
+                    "Export Metrics", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+}
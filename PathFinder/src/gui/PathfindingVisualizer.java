@@ -1,7 +1,15 @@
 package gui;
 
+import algorithms.AlgorithmRegistry;
+import algorithms.SearchScheduler;
+import algorithms.SearchStepper;
+import algorithms.SearchTrace;
+import io.MapFiles;
+import maze.MazeRegistry;
+import model.GridModel;
 import javax.swing.*;
 import java.awt.*;
+import java.io.IOException;
 
 public class PathfindingVisualizer extends JFrame {
     private final GridPanel gridPanel;
@@ -11,10 +19,22 @@ public class PathfindingVisualizer extends JFrame {
     private final JRadioButton slowButton;
     private final JRadioButton mediumButton;
     private final JRadioButton fastButton;
+    private final JCheckBox replayCheckBox;
+    private final JCheckBox livePathCheckBox;
+    private final JComboBox<String> mazeDropdown;
+    private final JSlider traceSlider;
+    private final JLabel traceLabel;
+    private SearchTrace trace;
+    private final MetricsPanel metricsPanel = new MetricsPanel();
+    private boolean meteringSearch = false;
+    private boolean updatingSlider = false;
     private static final int SLOW_DELAY = 75;
     private static final int MEDIUM_DELAY = 15;
     private static final int FAST_DELAY = 2;
-    private volatile boolean searchStopped = false;
+    private static final int MIN_TICK_MILLIS = 16;
+    private final SearchScheduler scheduler = new SearchScheduler();
+    private final Timer searchTimer;
+    private int expansionsPerTick = 1;
     public boolean mazeGenerated = false;
 
     public PathfindingVisualizer() {
@@ -51,9 +71,32 @@ public class PathfindingVisualizer extends JFrame {
                 "</div></html>");
         helpText.setFont(new Font("Segoe UI", Font.PLAIN, 14));
         helpPanel.add(helpText);
+        mazeDropdown = new JComboBox<>(MazeRegistry.names().toArray(new String[0]));
+        mazeDropdown.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        mazeDropdown.setToolTipText("Maze generator used by Generate Maze");
+        helpPanel.add(mazeDropdown);
+        helpPanel.add(createMapButton("Load Map", e -> loadMap()));
+        helpPanel.add(createMapButton("Save Map", e -> saveMap()));
 
         gridWrapper.add(helpPanel, BorderLayout.NORTH);
         gridWrapper.add(gridPanel, BorderLayout.CENTER);
+
+        // Scrubber for searches run in record-and-replay mode
+        JPanel tracePanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 15, 5));
+        tracePanel.setBackground(Color.WHITE);
+        traceSlider = new JSlider(0, 0, 0);
+        traceSlider.setPreferredSize(new Dimension(600, 30));
+        traceSlider.setOpaque(false);
+        traceSlider.setEnabled(false);
+        traceLabel = new JLabel("Enable Replay to record a search and scrub through it");
+        traceLabel.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        tracePanel.add(traceSlider);
+        tracePanel.add(traceLabel);
+        JPanel reportPanel = new JPanel(new GridLayout(2, 1));
+        reportPanel.setBackground(Color.WHITE);
+        reportPanel.add(tracePanel);
+        reportPanel.add(metricsPanel);
+        gridWrapper.add(reportPanel, BorderLayout.SOUTH);
         add(gridWrapper, BorderLayout.CENTER);
 
         // Create modern control panel with gradient background
@@ -72,7 +115,7 @@ public class PathfindingVisualizer extends JFrame {
         controlPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 20, 10));
 
         // Style the dropdown with modern look
-        algorithmDropdown = new JComboBox<>(new String[]{"Dijkstra", "A*", "Breadth First", "Depth First", "Greedy Best First"});
+        algorithmDropdown = new JComboBox<>(AlgorithmRegistry.names().toArray(new String[0]));
         algorithmDropdown.setPreferredSize(new Dimension(160, 35));
         algorithmDropdown.setFont(new Font("Segoe UI", Font.PLAIN, 14));
         algorithmDropdown.setBackground(Color.WHITE);
@@ -113,53 +156,183 @@ public class PathfindingVisualizer extends JFrame {
         speedPanel.add(mediumButton);
         speedPanel.add(fastButton);
 
+        replayCheckBox = new JCheckBox("Replay");
+        replayCheckBox.setFont(radioFont);
+        replayCheckBox.setOpaque(false);
+        replayCheckBox.setToolTipText("Run the search at full speed, then replay its trace");
+
+        livePathCheckBox = new JCheckBox("Live Path");
+        livePathCheckBox.setFont(radioFont);
+        livePathCheckBox.setOpaque(false);
+        livePathCheckBox.setToolTipText("Keep the path up to date with D* Lite while editing or dragging");
+
         // Style the buttons with modern design
         startButton = createStyledButton("Start Search", new Color(46, 204, 113), new Color(39, 174, 96));
         JButton clearButton = createStyledButton("Clear Grid", new Color(231, 76, 60), new Color(192, 57, 43));
         generateMazeButton = createStyledButton("Generate Maze", new Color(52, 152, 219), new Color(41, 128, 185));
+        JButton raceButton = createStyledButton("Race All", new Color(155, 89, 182), new Color(142, 68, 173));
 
         // Add components to control panel
         controlPanel.add(algorithmDropdown);
         controlPanel.add(speedPanel);
+        controlPanel.add(replayCheckBox);
+        controlPanel.add(livePathCheckBox);
         controlPanel.add(startButton);
         controlPanel.add(clearButton);
         controlPanel.add(generateMazeButton);
+        controlPanel.add(raceButton);
 
         add(controlPanel, BorderLayout.SOUTH);
 
         // Action listeners remain the same
+        // Searches are stepped on the EDT by this timer instead of sleeping on their own thread
+        searchTimer = new Timer(MIN_TICK_MILLIS, e -> {
+            if (!scheduler.tick(expansionsPerTick)) {
+                stopSearch();
+            }
+        });
+
         startButton.addActionListener(e -> {
-            searchStopped = false;
+            stopSearch();
+            String algorithm = (String) algorithmDropdown.getSelectedItem();
+            SearchStepper stepper;
+            if (replayCheckBox.isSelected()) {
+                SearchTrace recorded = gridPanel.recordSearch(algorithm, () -> false);
+                if (recorded == null) return;
+                showTrace(recorded);
+                metricsPanel.show(recorded.getMetrics());
+                stepper = gridPanel.createReplay(recorded);
+            } else {
+                long cacheHits = gridPanel.getPathCache().getHits();
+                stepper = gridPanel.createSearch(algorithm);
+                if (stepper == null) {
+                    if (gridPanel.getPathCache().getHits() > cacheHits) {
+                        metricsPanel.showCached(algorithm);
+                    }
+                    return;
+                }
+                meteringSearch = true;
+            }
+
+            int delay = getDelayFromRadioButtons();
+            int tickMillis = Math.max(delay, MIN_TICK_MILLIS);
+            expansionsPerTick = tickMillis / delay;
+            searchTimer.setDelay(tickMillis);
+            scheduler.add(stepper);
             startButton.setEnabled(false);
-            new Thread(() -> {
-                int delay = getDelayFromRadioButtons();
-                gridPanel.startSearch((String) algorithmDropdown.getSelectedItem(), delay, () -> searchStopped);
-                SwingUtilities.invokeLater(() -> startButton.setEnabled(true));
-            }).start();
+            searchTimer.start();
+        });
+
+        traceSlider.addChangeListener(e -> {
+            if (!updatingSlider && trace != null) {
+                stopSearch();
+                gridPanel.showTraceStep(trace, traceSlider.getValue());
+            }
+        });
+
+        livePathCheckBox.addActionListener(e -> {
+            stopSearch();
+            gridPanel.setLivePath(livePathCheckBox.isSelected());
+        });
+
+        raceButton.addActionListener(e -> {
+            if (gridPanel.startCell < 0 || gridPanel.endCell < 0) {
+                JOptionPane.showMessageDialog(this,
+                        "Please set a start and end point.",
+                        "Missing Points",
+                        JOptionPane.INFORMATION_MESSAGE);
+                return;
+            }
+            new RaceDialog(this, gridPanel.model, gridPanel.startCell, gridPanel.endCell,
+                    getDelayFromRadioButtons()).setVisible(true);
         });
 
         clearButton.addActionListener(e -> {
-            searchStopped = true;
+            stopSearch();
             mazeGenerated = false;
             gridPanel.clearGrid();
-            gridPanel.startNode = gridPanel.grid[gridPanel.rows/2][gridPanel.cols/4];
-            gridPanel.endNode = gridPanel.grid[gridPanel.rows/2][3*gridPanel.cols/4];
-            gridPanel.startNode.setStart();
-            gridPanel.endNode.setEnd();
-            gridPanel.lastValidStartPos = new Point(gridPanel.cols/4, gridPanel.rows/2);
-            gridPanel.lastValidEndPos = new Point(3*gridPanel.cols/4, gridPanel.rows/2);
+            gridPanel.resetEndpoints();
         });
 
         generateMazeButton.addActionListener(e -> {
+            stopSearch();
             generateMazeButton.setEnabled(false);
-            new Thread(() -> {
-                mazeGenerated = true;
-                gridPanel.generateMaze();
-                SwingUtilities.invokeLater(() -> generateMazeButton.setEnabled(true));
-            }).start();
+            mazeGenerated = true;
+            gridPanel.generateMaze(MazeRegistry.get((String) mazeDropdown.getSelectedItem()),
+                    System.nanoTime(), () -> generateMazeButton.setEnabled(true));
         });
     }
 
+    private void stopSearch() {
+        searchTimer.stop();
+        scheduler.cancelAll();
+        startButton.setEnabled(true);
+        if (meteringSearch) {
+            meteringSearch = false;
+            metricsPanel.show(gridPanel.getLastMetrics());
+        }
+    }
+
+    private void loadMap() {
+        JFileChooser chooser = new JFileChooser();
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        GridModel grid;
+        try {
+            grid = MapFiles.read(chooser.getSelectedFile().toPath());
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(this, "Could not read map: " + ex.getMessage(),
+                    "Load Map", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        stopSearch();
+        mazeGenerated = false;
+        gridPanel.loadWalls(grid);
+        if (grid.getWidth() != gridPanel.cols || grid.getHeight() != gridPanel.rows) {
+            JOptionPane.showMessageDialog(this,
+                    String.format("The map is %dx%d; only the top-left %dx%d cells fit on the grid.",
+                            grid.getHeight(), grid.getWidth(), gridPanel.rows, gridPanel.cols),
+                    "Load Map", JOptionPane.INFORMATION_MESSAGE);
+        }
+    }
+
+    private void saveMap() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new java.io.File("grid.map"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        try {
+            MapFiles.write(gridPanel.model, chooser.getSelectedFile().toPath());
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(this, "Could not write map: " + ex.getMessage(),
+                    "Save Map", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private JButton createMapButton(String text, java.awt.event.ActionListener action) {
+        JButton button = new JButton(text);
+        button.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        button.setFocusPainted(false);
+        button.setToolTipText("Moving AI .map, or compact run-length .rle");
+        button.addActionListener(action);
+        return button;
+    }
+
+    private void showTrace(SearchTrace recorded) {
+        trace = recorded;
+        updatingSlider = true;
+        traceSlider.setMaximum(recorded.getExpansionCount());
+        traceSlider.setValue(recorded.getExpansionCount());
+        traceSlider.setEnabled(true);
+        updatingSlider = false;
+        traceLabel.setText(String.format("Expanded %d | %s | %.2f ms",
+                recorded.getExpansionCount(),
+                recorded.hasPath() ? "Path length " + (recorded.getPath().length - 1) : "No path",
+                recorded.getElapsedNanos() / 1e6));
+    }
+
     private JLabel createStyledLabel(String text) {
         JLabel label = new JLabel(text);
         label.setFont(new Font("Segoe UI", Font.PLAIN, 12));
@@ -0,0 +1,101 @@
+package gui;
+
+import algorithms.AlgorithmRace;
+import algorithms.AlgorithmRegistry;
+import algorithms.SearchMetrics;
+import model.GridModel;
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Race mode: every registered algorithm runs on its own thread against the same
+ * snapshot, each drawing into a small read-only grid, and a table compares the
+ * runs as they finish. Closing the dialog cancels any run still going.
+ */
+public class RaceDialog extends JDialog {
+    private static final int COLUMNS = 3;
+    private static final int PANEL_WIDTH = 440;
+    private static final String[] TABLE_COLUMNS =
+            {"Algorithm", "Nodes Expanded", "Peak Open List", "Search Time (ms)", "Path Length"};
+
+    private final AlgorithmRace race;
+    private final DefaultTableModel table = new DefaultTableModel(TABLE_COLUMNS, 0) {
+        @Override
+        public boolean isCellEditable(int row, int column) {
+            return false;
+        }
+    };
+    private final Map<String, JLabel> titles = new HashMap<>();
+
+    public RaceDialog(Frame owner, GridModel grid, int start, int end, int delay) {
+        super(owner, "Algorithm Race", false);
+        setLayout(new BorderLayout(10, 10));
+        getContentPane().setBackground(Color.WHITE);
+
+        List<String> algorithms = new ArrayList<>(AlgorithmRegistry.names());
+        race = new AlgorithmRace(grid, start, end);
+
+        int rows = grid.getHeight(), cols = grid.getWidth();
+        int cellSize = Math.max(2, Math.min(10, PANEL_WIDTH / cols));
+        JPanel lanes = new JPanel(new GridLayout(0, COLUMNS, 10, 10));
+        lanes.setBackground(Color.WHITE);
+        lanes.setBorder(BorderFactory.createEmptyBorder(10, 10, 0, 10));
+        Map<String, GridPanel> panels = new HashMap<>();
+        for (String algorithm : algorithms) {
+            GridPanel panel = new GridPanel(rows, cols, cellSize);
+            panel.setEditable(false);
+            panel.loadLayout(grid, start, end);
+            panels.put(algorithm, panel);
+
+            JLabel title = new JLabel(algorithm + " - running");
+            title.setFont(new Font("Segoe UI", Font.BOLD, 13));
+            titles.put(algorithm, title);
+
+            JPanel lane = new JPanel(new BorderLayout(0, 4));
+            lane.setOpaque(false);
+            lane.add(title, BorderLayout.NORTH);
+            lane.add(panel, BorderLayout.CENTER);
+            lanes.add(lane);
+
+            table.addRow(new Object[]{algorithm, "", "", "", ""});
+        }
+        add(new JScrollPane(lanes), BorderLayout.CENTER);
+
+        JTable results = new JTable(table);
+        results.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        results.setRowHeight(22);
+        JScrollPane tablePane = new JScrollPane(results);
+        tablePane.setPreferredSize(new Dimension(COLUMNS * (PANEL_WIDTH + 10), 22 * (algorithms.size() + 2)));
+        add(tablePane, BorderLayout.SOUTH);
+
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                race.cancel();
+            }
+        });
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+        pack();
+        setLocationRelativeTo(owner);
+
+        race.start(algorithms, panels::get, delay,
+                result -> SwingUtilities.invokeLater(() -> showResult(algorithms.indexOf(result.getAlgorithm()), result)));
+    }
+
+    private void showResult(int row, SearchMetrics result) {
+        String outcome = !result.isFinished() ? "cancelled"
+                : result.getPathLength() < 0 ? "no path" : "done";
+        titles.get(result.getAlgorithm()).setText(result.getAlgorithm() + " - " + outcome);
+        table.setValueAt(result.getExpanded(), row, 1);
+        table.setValueAt(result.getPeakOpenSetSize(), row, 2);
+        table.setValueAt(String.format("%.3f", result.getElapsedNanos() / 1e6), row, 3);
+        table.setValueAt(result.getPathLength() < 0 ? "-" : result.getPathLength(), row, 4);
+    }
+}
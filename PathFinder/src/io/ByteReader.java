@@ -0,0 +1,61 @@
+package io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/** Buffered byte-at-a-time reads over a channel. */
+final class ByteReader {
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+
+    ByteReader(ReadableByteChannel channel) {
+        this.channel = channel;
+        buffer.flip();
+    }
+
+    /** The next byte as 0-255, or -1 at the end of the channel. */
+    int read() throws IOException {
+        if (!buffer.hasRemaining()) {
+            buffer.clear();
+            int read;
+            do {
+                read = channel.read(buffer);
+            } while (read == 0);
+            buffer.flip();
+            if (read < 0) {
+                return -1;
+            }
+        }
+        return buffer.get() & 0xFF;
+    }
+
+    /** The next whitespace-delimited ASCII token, or null at the end of the channel. */
+    String token() throws IOException {
+        int b = read();
+        while (b == ' ' || b == '\t' || b == '\r' || b == '\n') {
+            b = read();
+        }
+        if (b < 0) {
+            return null;
+        }
+        StringBuilder token = new StringBuilder();
+        while (b >= 0 && b != ' ' && b != '\t' && b != '\r' && b != '\n') {
+            token.append((char) b);
+            b = read();
+        }
+        return token.toString();
+    }
+
+    int readInt() throws IOException {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            int b = read();
+            if (b < 0) {
+                throw new IOException("Unexpected end of map file");
+            }
+            value = (value << 8) | b;
+        }
+        return value;
+    }
+}
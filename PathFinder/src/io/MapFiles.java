@@ -0,0 +1,68 @@
+package io;
+
+import model.GridModel;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Loads and saves grids. Files ending in ".rle" use {@link RunLengthMap}; any
+ * other name is written as a Moving AI {@code .map}. Reading looks at the
+ * file's first bytes, so the extension does not matter there.
+ */
+public final class MapFiles {
+    private MapFiles() {}
+
+    public static GridModel read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(4);
+            while (magic.hasRemaining()) {
+                if (channel.read(magic) < 0) break;
+            }
+            channel.position(0);
+            boolean runLength = !magic.hasRemaining() && magic.getInt(0) == RunLengthMap.MAGIC;
+            return runLength ? RunLengthMap.read(channel) : MovingAiMap.read(channel);
+        }
+    }
+
+    public static void write(GridModel grid, Path file) throws IOException {
+        try (MapWriter writer = writer(file, grid.getWidth(), grid.getHeight())) {
+            for (int cell = 0; cell < grid.size(); cell++) {
+                writer.writeCell(grid.isWall(cell));
+            }
+        }
+    }
+
+    /** Streams a map of the given size to {@code file}; closing the writer closes the file. */
+    public static MapWriter writer(Path file, int width, int height) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            MapWriter writer = isRunLength(file)
+                    ? RunLengthMap.writer(channel, width, height)
+                    : MovingAiMap.writer(channel, width, height);
+            return new MapWriter() {
+                @Override
+                public void writeCell(boolean wall) throws IOException {
+                    writer.writeCell(wall);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    try (channel) {
+                        writer.close();
+                    }
+                }
+            };
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static boolean isRunLength(Path file) {
+        return file.getFileName().toString().toLowerCase().endsWith(".rle");
+    }
+}
@@ -0,0 +1,13 @@
+package io;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Streams a map out one cell at a time in row-major order, so a map never has
+ * to exist in memory as a whole. Closing fails if fewer cells were written
+ * than the map holds.
+ */
+public interface MapWriter extends Closeable {
+    void writeCell(boolean wall) throws IOException;
+}
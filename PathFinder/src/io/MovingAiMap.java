@@ -0,0 +1,118 @@
+package io;
+
+import model.GridModel;
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * The Moving AI benchmark map format: a short text header followed by one line
+ * of characters per row. '.', 'G' and 'S' are passable; every other terrain
+ * character ('@', 'O', 'T', 'W') is read as a wall. Walls are written as '@'.
+ */
+public final class MovingAiMap {
+    private MovingAiMap() {}
+
+    public static GridModel read(ReadableByteChannel channel) throws IOException {
+        ByteReader in = new ByteReader(channel);
+        int width = -1, height = -1;
+        for (String field = in.token(); !"map".equals(field); field = in.token()) {
+            if (field == null) {
+                throw new IOException("Map file has no 'map' line");
+            }
+            String value = in.token();
+            if (value == null) {
+                throw new IOException("Missing value for '" + field + "'");
+            }
+            switch (field) {
+                case "type": break;
+                case "height": height = parseSize(field, value); break;
+                case "width": width = parseSize(field, value); break;
+                default: throw new IOException("Unknown map header field: " + field);
+            }
+        }
+        if (width < 0 || height < 0) {
+            throw new IOException("Map header needs both a width and a height");
+        }
+        if (width <= 0 || height <= 0 || (long) width * height > Integer.MAX_VALUE) {
+            throw new IOException("Invalid map size: " + width + "x" + height);
+        }
+
+        GridModel grid = new GridModel(width, height);
+        for (int row = 0; row < height; row++) {
+            int b = in.read();
+            while (b == '\r' || b == '\n') {
+                b = in.read();
+            }
+            for (int col = 0; col < width; col++, b = in.read()) {
+                if (b < 0 || b == '\r' || b == '\n') {
+                    throw new IOException("Map row " + row + " is shorter than the width " + width);
+                }
+                if (b != '.' && b != 'G' && b != 'S') {
+                    grid.setWall(row, col, true);
+                }
+            }
+            if (b >= 0 && b != '\r' && b != '\n') {
+                throw new IOException("Map row " + row + " is longer than the width " + width);
+            }
+        }
+        return grid;
+    }
+
+    private static int parseSize(String field, String value) throws IOException {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IOException("Bad " + field + ": " + value);
+        }
+    }
+
+    public static void write(GridModel grid, WritableByteChannel channel) throws IOException {
+        MapWriter writer = writer(channel, grid.getWidth(), grid.getHeight());
+        for (int cell = 0; cell < grid.size(); cell++) {
+            writer.writeCell(grid.isWall(cell));
+        }
+        writer.close();
+    }
+
+    /** Streams a map to {@code channel}; closing the writer flushes it but leaves the channel open. */
+    public static MapWriter writer(WritableByteChannel channel, int width, int height) throws IOException {
+        return new Writer(channel, width, height);
+    }
+
+    private static final class Writer implements MapWriter {
+        private final ByteWriter out;
+        private final int width;
+        private final long cells;
+        private long written;
+
+        Writer(WritableByteChannel channel, int width, int height) throws IOException {
+            if (width <= 0 || height <= 0) {
+                throw new IllegalArgumentException("Invalid map size: " + width + "x" + height);
+            }
+            this.out = new ByteWriter(channel);
+            this.width = width;
+            this.cells = (long) width * height;
+            out.writeAscii("type octile\nheight " + height + "\nwidth " + width + "\nmap\n");
+        }
+
+        @Override
+        public void writeCell(boolean wall) throws IOException {
+            if (written == cells) {
+                throw new IOException("Map is already complete");
+            }
+            out.write(wall ? '@' : '.');
+            if (++written % width == 0) {
+                out.write('\n');
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+            if (written != cells) {
+                throw new IOException("Map closed after " + written + " of " + cells + " cells");
+            }
+        }
+    }
+}
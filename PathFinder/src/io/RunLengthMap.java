@@ -0,0 +1,130 @@
+package io;
+
+import model.GridModel;
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Compact binary map format: a header (magic, version, width, height as
+ * big-endian ints) followed by the lengths of alternating runs of open and wall
+ * cells in row-major order, starting with open, each as an unsigned LEB128
+ * varint. Mazes and open maps shrink to a small fraction of their text size.
+ */
+public final class RunLengthMap {
+    static final int MAGIC = 0x5046524C; // "PFRL"
+    private static final int VERSION = 1;
+
+    private RunLengthMap() {}
+
+    public static GridModel read(ReadableByteChannel channel) throws IOException {
+        ByteReader in = new ByteReader(channel);
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("Not a run-length map file");
+        }
+        int width = in.readInt(), height = in.readInt();
+        if (width <= 0 || height <= 0 || (long) width * height > Integer.MAX_VALUE) {
+            throw new IOException("Invalid map size: " + width + "x" + height);
+        }
+        GridModel grid = new GridModel(width, height);
+        int cell = 0;
+        boolean wall = false;
+        while (cell < grid.size()) {
+            long run = readVarint(in);
+            if (run > grid.size() - cell) {
+                throw new IOException("Run overflows the map at cell " + cell);
+            }
+            if (wall) {
+                for (int end = cell + (int) run; cell < end; cell++) {
+                    grid.setWall(cell, true);
+                }
+            } else {
+                cell += (int) run;
+            }
+            wall = !wall;
+        }
+        return grid;
+    }
+
+    private static long readVarint(ByteReader in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new IOException("Unexpected end of map file");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed run length");
+    }
+
+    public static void write(GridModel grid, WritableByteChannel channel) throws IOException {
+        MapWriter writer = writer(channel, grid.getWidth(), grid.getHeight());
+        for (int cell = 0; cell < grid.size(); cell++) {
+            writer.writeCell(grid.isWall(cell));
+        }
+        writer.close();
+    }
+
+    /** Streams a map to {@code channel}; closing the writer flushes it but leaves the channel open. */
+    public static MapWriter writer(WritableByteChannel channel, int width, int height) throws IOException {
+        return new Writer(channel, width, height);
+    }
+
+    private static final class Writer implements MapWriter {
+        private final ByteWriter out;
+        private final long cells;
+        private long written, run;
+        private boolean wall;
+
+        Writer(WritableByteChannel channel, int width, int height) throws IOException {
+            if (width <= 0 || height <= 0) {
+                throw new IllegalArgumentException("Invalid map size: " + width + "x" + height);
+            }
+            this.out = new ByteWriter(channel);
+            this.cells = (long) width * height;
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(width);
+            out.writeInt(height);
+        }
+
+        @Override
+        public void writeCell(boolean wall) throws IOException {
+            if (written == cells) {
+                throw new IOException("Map is already complete");
+            }
+            if (wall != this.wall) {
+                writeVarint(run);
+                run = 0;
+                this.wall = wall;
+            }
+            run++;
+            written++;
+        }
+
+        private void writeVarint(long value) throws IOException {
+            while (value >= 0x80) {
+                out.write((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.write((int) value);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (written != cells) {
+                out.flush();
+                throw new IOException("Map closed after " + written + " of " + cells + " cells");
+            }
+            if (run > 0) {
+                writeVarint(run);
+                run = 0;
+            }
+            out.flush();
+        }
+    }
+}
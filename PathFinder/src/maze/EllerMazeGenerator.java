@@ -0,0 +1,168 @@
+package maze;
+
+import io.MapWriter;
+import model.GridModel;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Eller's algorithm: builds the maze one row of rooms at a time, keeping only
+ * which rooms of the current row are already connected. Memory is O(width)
+ * whatever the height, so {@link #stream} can write mazes of millions of rows
+ * straight to a map file or a memory-mapped grid. The layout matches the other
+ * generators: rooms on odd rows and columns.
+ */
+public class EllerMazeGenerator extends MazeGenerator {
+    private static final EllerMazeGenerator INSTANCE = new EllerMazeGenerator();
+
+    private EllerMazeGenerator() {}
+
+    public static EllerMazeGenerator getInstance() {
+        return INSTANCE;
+    }
+
+    /** Receives each finished row of cells, top to bottom; the array is reused between rows. */
+    public interface RowSink {
+        void accept(int row, boolean[] walls) throws IOException;
+    }
+
+    /** Streams a maze of {@code width x height} cells to {@code writer}, which must be that size. */
+    public void write(MapWriter writer, int width, int height, long seed) throws IOException {
+        stream(width, height, new MazeRandom(seed), (row, walls) -> {
+            for (boolean wall : walls) {
+                writer.writeCell(wall);
+            }
+        });
+    }
+
+    @Override
+    public void generate(GridModel grid, long seed) {
+        try {
+            stream(grid.getWidth(), grid.getHeight(), new MazeRandom(seed), (row, walls) -> {
+                for (int col = 0; col < walls.length; col++) {
+                    grid.setWall(row, col, walls[col]);
+                }
+            });
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Override
+    void build(Maze maze, MazeRandom random) {
+        try {
+            stream(maze.grid.getWidth(), maze.grid.getHeight(), random, (row, walls) -> {
+                for (int col = 0; col < walls.length; col++) {
+                    if (!walls[col]) {
+                        maze.open(maze.grid.cellId(row, col));
+                    }
+                }
+            });
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    public void stream(int width, int height, long seed, RowSink sink) throws IOException {
+        stream(width, height, new MazeRandom(seed), sink);
+    }
+
+    private void stream(int width, int height, MazeRandom random, RowSink sink) throws IOException {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Invalid maze size: " + width + "x" + height);
+        }
+        int roomRows = (height - 1) / 2, roomCols = (width - 1) / 2;
+        boolean[] cells = new boolean[width];
+        Arrays.fill(cells, true);
+        int row = 0;
+        sink.accept(row++, cells);
+        if (roomRows == 0 || roomCols == 0) {
+            while (row < height) {
+                sink.accept(row++, cells);
+            }
+            return;
+        }
+
+        // Sets of the current row as a flat union-find over columns
+        int[] set = new int[roomCols], next = new int[roomCols];
+        int[] members = new int[roomCols], chosen = new int[roomCols], carried = new int[roomCols];
+        boolean[] down = new boolean[roomCols], hasDown = new boolean[roomCols];
+        for (int col = 0; col < roomCols; col++) {
+            set[col] = col;
+        }
+
+        for (int roomRow = 0; roomRow < roomRows; roomRow++) {
+            boolean last = roomRow == roomRows - 1;
+
+            // Room row: join neighbours from different sets at random, or always on the last row
+            Arrays.fill(cells, true);
+            cells[1] = false;
+            for (int col = 0; col < roomCols - 1; col++) {
+                int a = find(set, col), b = find(set, col + 1);
+                if (a != b && (last || random.nextBoolean())) {
+                    set[a] = b;
+                    cells[2 * col + 2] = false;
+                }
+                cells[2 * col + 3] = false;
+            }
+            sink.accept(row++, cells);
+
+            // Passage row: every set carries on downwards at least once
+            Arrays.fill(cells, true);
+            if (!last) {
+                for (int col = 0; col < roomCols; col++) {
+                    int root = find(set, col);
+                    set[col] = root;
+                    if (members[root] == 0) {
+                        hasDown[root] = false;
+                    }
+                    // Reservoir pick, so a set that drew no passage gets one at a uniform member
+                    if (random.nextInt(++members[root]) == 0) {
+                        chosen[root] = col;
+                    }
+                    down[col] = random.nextBoolean();
+                    hasDown[root] |= down[col];
+                }
+                for (int col = 0; col < roomCols; col++) {
+                    int root = set[col];
+                    if (members[root] > 0) {
+                        if (!hasDown[root]) {
+                            down[chosen[root]] = true;
+                        }
+                        members[root] = 0;
+                        carried[root] = -1;
+                    }
+                }
+                for (int col = 0; col < roomCols; col++) {
+                    int root = set[col];
+                    if (down[col]) {
+                        cells[2 * col + 1] = false;
+                        if (carried[root] < 0) {
+                            carried[root] = col;
+                        }
+                        next[col] = carried[root];
+                    } else {
+                        next[col] = col;
+                    }
+                }
+                int[] swap = set;
+                set = next;
+                next = swap;
+            }
+            sink.accept(row++, cells);
+        }
+
+        Arrays.fill(cells, true);
+        while (row < height) {
+            sink.accept(row++, cells);
+        }
+    }
+
+    private static int find(int[] set, int col) {
+        while (set[col] != col) {
+            set[col] = set[set[col]];
+            col = set[col];
+        }
+        return col;
+    }
+}
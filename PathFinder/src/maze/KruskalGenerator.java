@@ -0,0 +1,67 @@
+package maze;
+
+/**
+ * Randomized Kruskal: opens every room, then knocks down the walls between
+ * rooms in shuffled order whenever the two sides are not yet connected.
+ */
+public class KruskalGenerator extends MazeGenerator {
+    private static final KruskalGenerator INSTANCE = new KruskalGenerator();
+
+    private KruskalGenerator() {}
+
+    public static KruskalGenerator getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    void build(Maze maze, MazeRandom random) {
+        int rooms = maze.rooms();
+        // Edge e joins room e / 2 to its right (even e) or lower (odd e) neighbour
+        int[] edges = new int[2 * rooms];
+        int count = 0;
+        int[] parent = new int[rooms];
+        byte[] rank = new byte[rooms];
+        for (int room = 0; room < rooms; room++) {
+            parent[room] = room;
+            maze.openRoom(room);
+        }
+        for (int row = 0, room = 0; row < maze.roomRows; row++) {
+            for (int col = 0; col < maze.roomCols; col++, room++) {
+                if (col < maze.roomCols - 1) edges[count++] = 2 * room;
+                if (row < maze.roomRows - 1) edges[count++] = 2 * room + 1;
+            }
+        }
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = edges[i];
+            edges[i] = edges[j];
+            edges[j] = swap;
+        }
+
+        int joined = 1;
+        for (int i = 0; i < count && joined < rooms; i++) {
+            int room = edges[i] >>> 1;
+            int neighbor = (edges[i] & 1) == 0 ? room + 1 : room + maze.roomCols;
+            int a = find(parent, room), b = find(parent, neighbor);
+            if (a != b) {
+                // Union by rank keeps the trees shallow, which matters more than the shuffle here
+                if (rank[a] < rank[b]) {
+                    parent[a] = b;
+                } else {
+                    parent[b] = a;
+                    if (rank[a] == rank[b]) rank[a]++;
+                }
+                maze.openBetween(room, neighbor);
+                joined++;
+            }
+        }
+    }
+
+    private static int find(int[] parent, int room) {
+        while (parent[room] != room) {
+            parent[room] = parent[parent[room]];
+            room = parent[room];
+        }
+        return room;
+    }
+}
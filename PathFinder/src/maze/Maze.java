@@ -0,0 +1,79 @@
+package maze;
+
+import model.GridModel;
+import java.util.function.IntConsumer;
+
+/**
+ * The room lattice of a grid being generated. Rooms sit on odd rows and columns;
+ * the cells between two rooms are the walls a generator may carve, and cells on
+ * even rows and columns stay walls. Every flipped cell is reported to the change
+ * listener, if any.
+ */
+final class Maze {
+    final GridModel grid;
+    final int roomRows, roomCols;
+    private final int width;
+    private final IntConsumer changes;
+    private final long[] openRooms;
+
+    Maze(GridModel grid, IntConsumer changes) {
+        this.grid = grid;
+        this.width = grid.getWidth();
+        this.roomRows = (grid.getHeight() - 1) / 2;
+        this.roomCols = (width - 1) / 2;
+        this.changes = changes;
+        this.openRooms = new long[(rooms() + 63) >>> 6];
+    }
+
+    int rooms() {
+        return roomRows * roomCols;
+    }
+
+    int cellOf(int room) {
+        int row = room / roomCols, col = room - row * roomCols;
+        return (2 * row + 1) * width + 2 * col + 1;
+    }
+
+    /** Writes the rooms adjacent to {@code room} into {@code out} and returns how many there are. */
+    int neighbors(int room, int[] out) {
+        int row = room / roomCols, col = room - row * roomCols;
+        int count = 0;
+        if (col < roomCols - 1) out[count++] = room + 1;
+        if (row < roomRows - 1) out[count++] = room + roomCols;
+        if (col > 0) out[count++] = room - 1;
+        if (row > 0) out[count++] = room - roomCols;
+        return count;
+    }
+
+    /** Whether {@code room} has been opened; tracked per room so generators never divide to ask. */
+    boolean isOpen(int room) {
+        return (openRooms[room >>> 6] & (1L << room)) != 0;
+    }
+
+    void openRoom(int room) {
+        openRooms[room >>> 6] |= 1L << room;
+        open(cellOf(room));
+    }
+
+    /** Opens the wall between two adjacent rooms. */
+    void openBetween(int room, int other) {
+        open((cellOf(room) + cellOf(other)) >>> 1);
+    }
+
+    void open(int cell) {
+        set(cell, false);
+    }
+
+    void close(int cell) {
+        set(cell, true);
+    }
+
+    private void set(int cell, boolean wall) {
+        if (grid.isWall(cell) != wall) {
+            grid.setWall(cell, wall);
+            if (changes != null) {
+                changes.accept(cell);
+            }
+        }
+    }
+}
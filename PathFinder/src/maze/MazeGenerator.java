@@ -0,0 +1,30 @@
+package maze;
+
+import model.GridModel;
+import java.util.function.IntConsumer;
+
+/**
+ * Generates a perfect maze in place on a grid. Generation runs at full speed on
+ * preallocated primitive arrays; showing it being built is left to the caller,
+ * which can record the changes and play them back at any pace.
+ */
+public abstract class MazeGenerator {
+    public void generate(GridModel grid, long seed) {
+        generate(grid, seed, null);
+    }
+
+    /**
+     * Fills {@code grid} with walls, then builds the maze, passing each cell whose
+     * wall state flips after that fill to {@code changes} in order. A cell flips at
+     * most twice, so a log of twice the grid size always suffices.
+     */
+    public void generate(GridModel grid, long seed, IntConsumer changes) {
+        grid.fillWalls(true);
+        Maze maze = new Maze(grid, changes);
+        if (maze.rooms() > 0) {
+            build(maze, new MazeRandom(seed));
+        }
+    }
+
+    abstract void build(Maze maze, MazeRandom random);
+}
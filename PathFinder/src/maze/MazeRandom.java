@@ -0,0 +1,29 @@
+package maze;
+
+/**
+ * SplitMix64 generator. Unlike java.util.Random it has no atomic state, so it is
+ * cheap in tight loops, and the same seed gives the same maze on every JVM.
+ */
+public final class MazeRandom {
+    private long state;
+
+    public MazeRandom(long seed) {
+        this.state = seed;
+    }
+
+    public long nextLong() {
+        long z = (state += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /** Uniform in [0, bound) for bound > 0. */
+    public int nextInt(int bound) {
+        return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    public boolean nextBoolean() {
+        return nextLong() < 0;
+    }
+}
@@ -0,0 +1,31 @@
+package maze;
+
+import java.util.*;
+
+/** Display names of every maze generator, in menu order. */
+public final class MazeRegistry {
+    private static final Map<String, MazeGenerator> GENERATORS = new LinkedHashMap<>();
+
+    static {
+        GENERATORS.put("Recursive Backtracker", RecursiveBacktrackerGenerator.getInstance());
+        GENERATORS.put("Prim", PrimGenerator.getInstance());
+        GENERATORS.put("Kruskal", KruskalGenerator.getInstance());
+        GENERATORS.put("Wilson", WilsonGenerator.getInstance());
+        GENERATORS.put("Recursive Division", RecursiveDivisionGenerator.getInstance());
+        GENERATORS.put("Eller", EllerMazeGenerator.getInstance());
+    }
+
+    private MazeRegistry() {}
+
+    public static Set<String> names() {
+        return Collections.unmodifiableSet(GENERATORS.keySet());
+    }
+
+    public static MazeGenerator get(String name) {
+        MazeGenerator generator = GENERATORS.get(name);
+        if (generator == null) {
+            throw new IllegalArgumentException("Unknown maze generator: " + name);
+        }
+        return generator;
+    }
+}
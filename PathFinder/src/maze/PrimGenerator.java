@@ -0,0 +1,55 @@
+package maze;
+
+/**
+ * Randomized Prim: grows the maze from one room by attaching a random frontier
+ * room each step, which gives many short dead ends.
+ */
+public class PrimGenerator extends MazeGenerator {
+    private static final PrimGenerator INSTANCE = new PrimGenerator();
+    private static final byte OUTSIDE = 0, FRONTIER = 1;
+
+    private PrimGenerator() {}
+
+    public static PrimGenerator getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    void build(Maze maze, MazeRandom random) {
+        byte[] state = new byte[maze.rooms()];
+        int[] frontier = new int[maze.rooms()];
+        int[] neighbors = new int[4];
+        int[] candidates = new int[4];
+
+        int first = random.nextInt(maze.rooms());
+        maze.openRoom(first);
+        int size = addFrontier(maze, state, frontier, 0, first, neighbors);
+
+        while (size > 0) {
+            int index = random.nextInt(size);
+            int room = frontier[index];
+            frontier[index] = frontier[--size];
+
+            int count = maze.neighbors(room, neighbors), found = 0;
+            for (int i = 0; i < count; i++) {
+                if (maze.isOpen(neighbors[i])) {
+                    candidates[found++] = neighbors[i];
+                }
+            }
+            maze.openBetween(candidates[random.nextInt(found)], room);
+            maze.openRoom(room);
+            size = addFrontier(maze, state, frontier, size, room, neighbors);
+        }
+    }
+
+    private static int addFrontier(Maze maze, byte[] state, int[] frontier, int size, int room, int[] neighbors) {
+        int count = maze.neighbors(room, neighbors);
+        for (int i = 0; i < count; i++) {
+            if (state[neighbors[i]] == OUTSIDE && !maze.isOpen(neighbors[i])) {
+                state[neighbors[i]] = FRONTIER;
+                frontier[size++] = neighbors[i];
+            }
+        }
+        return size;
+    }
+}
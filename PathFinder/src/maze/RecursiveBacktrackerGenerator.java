@@ -0,0 +1,41 @@
+package maze;
+
+/** Depth-first carving with an explicit stack: long, winding corridors and few branches. */
+public class RecursiveBacktrackerGenerator extends MazeGenerator {
+    private static final RecursiveBacktrackerGenerator INSTANCE = new RecursiveBacktrackerGenerator();
+
+    private RecursiveBacktrackerGenerator() {}
+
+    public static RecursiveBacktrackerGenerator getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    void build(Maze maze, MazeRandom random) {
+        int[] stack = new int[maze.rooms()];
+        int[] neighbors = new int[4];
+        int[] candidates = new int[4];
+        int top = 0;
+        maze.openRoom(0);
+        stack[top++] = 0;
+
+        while (top > 0) {
+            int room = stack[top - 1];
+            int count = maze.neighbors(room, neighbors), found = 0;
+            for (int i = 0; i < count; i++) {
+                if (!maze.isOpen(neighbors[i])) {
+                    candidates[found++] = neighbors[i];
+                }
+            }
+
+            if (found > 0) {
+                int next = candidates[random.nextInt(found)];
+                maze.openBetween(room, next);
+                maze.openRoom(next);
+                stack[top++] = next;
+            } else {
+                top--;
+            }
+        }
+    }
+}
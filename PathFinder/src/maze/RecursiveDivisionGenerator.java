@@ -0,0 +1,67 @@
+package maze;
+
+/**
+ * Recursive division: opens the whole interior, then splits regions with walls
+ * that each keep one gap, until every region is a single room. Builds walls
+ * rather than carving passages, and leaves long straight corridors.
+ */
+public class RecursiveDivisionGenerator extends MazeGenerator {
+    private static final RecursiveDivisionGenerator INSTANCE = new RecursiveDivisionGenerator();
+
+    private RecursiveDivisionGenerator() {}
+
+    public static RecursiveDivisionGenerator getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    void build(Maze maze, MazeRandom random) {
+        int lastRow = 2 * maze.roomRows - 1, lastCol = 2 * maze.roomCols - 1;
+        for (int row = 1; row <= lastRow; row++) {
+            for (int col = 1; col <= lastCol; col++) {
+                maze.open(maze.grid.cellId(row, col));
+            }
+        }
+
+        // Regions as inclusive room ranges; each split adds at most one pending region
+        int[] stack = new int[4 * (maze.roomRows + maze.roomCols + 1)];
+        int top = push(stack, 0, 0, 0, maze.roomRows - 1, maze.roomCols - 1);
+        while (top > 0) {
+            int c1 = stack[--top], r1 = stack[--top], c0 = stack[--top], r0 = stack[--top];
+            int height = r1 - r0 + 1, width = c1 - c0 + 1;
+            if (height == 1 && width == 1) {
+                continue;
+            }
+
+            if (height > width || (height == width && random.nextBoolean())) {
+                int split = r0 + random.nextInt(height - 1);
+                int gap = 2 * (c0 + random.nextInt(width)) + 1;
+                for (int col = 2 * c0 + 1; col <= 2 * c1 + 1; col++) {
+                    if (col != gap) {
+                        maze.close(maze.grid.cellId(2 * split + 2, col));
+                    }
+                }
+                top = push(stack, top, r0, c0, split, c1);
+                top = push(stack, top, split + 1, c0, r1, c1);
+            } else {
+                int split = c0 + random.nextInt(width - 1);
+                int gap = 2 * (r0 + random.nextInt(height)) + 1;
+                for (int row = 2 * r0 + 1; row <= 2 * r1 + 1; row++) {
+                    if (row != gap) {
+                        maze.close(maze.grid.cellId(row, 2 * split + 2));
+                    }
+                }
+                top = push(stack, top, r0, c0, r1, split);
+                top = push(stack, top, r0, split + 1, r1, c1);
+            }
+        }
+    }
+
+    private static int push(int[] stack, int top, int r0, int c0, int r1, int c1) {
+        stack[top++] = r0;
+        stack[top++] = c0;
+        stack[top++] = r1;
+        stack[top++] = c1;
+        return top;
+    }
+}
@@ -0,0 +1,41 @@
+package maze;
+
+/**
+ * Wilson's algorithm: loop-erased random walks from each room until they hit the
+ * maze. Produces a uniform spanning tree, so it has none of the texture biases
+ * of the other generators, at the cost of slow early walks.
+ */
+public class WilsonGenerator extends MazeGenerator {
+    private static final WilsonGenerator INSTANCE = new WilsonGenerator();
+
+    private WilsonGenerator() {}
+
+    public static WilsonGenerator getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    void build(Maze maze, MazeRandom random) {
+        // Room last stepped to from each room; overwriting it on revisits erases loops
+        int[] exit = new int[maze.rooms()];
+        int[] neighbors = new int[4];
+        maze.openRoom(random.nextInt(maze.rooms()));
+
+        for (int start = 0; start < maze.rooms(); start++) {
+            int room = start;
+            while (!maze.isOpen(room)) {
+                int next = neighbors[random.nextInt(maze.neighbors(room, neighbors))];
+                exit[room] = next;
+                room = next;
+            }
+
+            room = start;
+            while (!maze.isOpen(room)) {
+                int next = exit[room];
+                maze.openRoom(room);
+                maze.openBetween(room, next);
+                room = next;
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package model;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An unbounded grid made of 64x64 chunks that are produced on demand by a
+ * {@link ChunkSource} the first time they are touched. At most a fixed number
+ * of chunks are held, evicted least recently used first, so memory follows the
+ * area being explored rather than the size of the world. Evicted chunks are
+ * simply produced again, so sources must be deterministic; the world itself is
+ * read-only. Not thread-safe.
+ *
+ * Coordinates are (x, y) = (column, row) and may be negative.
+ */
+public class ChunkedWorld {
+    public static final int CHUNK_SHIFT = 6;
+    public static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    /** Produces the walls of one chunk: bit {@code x} of {@code walls[y]} is the cell at (x, y) within it. */
+    @FunctionalInterface
+    public interface ChunkSource {
+        void fill(int chunkX, int chunkY, long[] walls);
+    }
+
+    private final ChunkSource source;
+    private final Map<Long, long[]> chunks;
+    // Array of the last evicted chunk, reused for the next load
+    private long[] spare;
+    // The chunk of the last lookup. Searches stay inside one chunk for many steps, so only
+    // a move into another chunk goes through the map. That lookup makes the memoized chunk
+    // the most recently used, and it stays so until the next move, so LRU order is unchanged.
+    private long lastKey;
+    private long[] lastChunk;
+    private long loads, evictions;
+
+    public ChunkedWorld(ChunkSource source, int maxChunks) {
+        if (maxChunks <= 0) {
+            throw new IllegalArgumentException("Chunk capacity must be positive: " + maxChunks);
+        }
+        this.source = source;
+        this.chunks = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, long[]> eldest) {
+                if (size() > maxChunks) {
+                    spare = eldest.getValue();
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public boolean isWall(int x, int y) {
+        long[] chunk = chunk(x >> CHUNK_SHIFT, y >> CHUNK_SHIFT);
+        return (chunk[y & CHUNK_MASK] & (1L << x)) != 0;
+    }
+
+    private long[] chunk(int chunkX, int chunkY) {
+        long key = ((long) chunkX << 32) | (chunkY & 0xFFFFFFFFL);
+        if (lastChunk != null && key == lastKey) {
+            return lastChunk;
+        }
+        long[] chunk = chunks.get(key);
+        if (chunk == null) {
+            chunk = spare != null ? spare : new long[CHUNK_SIZE];
+            spare = null;
+            Arrays.fill(chunk, 0L);
+            source.fill(chunkX, chunkY, chunk);
+            loads++;
+            chunks.put(key, chunk);
+        }
+        lastKey = key;
+        lastChunk = chunk;
+        return chunk;
+    }
+
+    public int loadedChunks() { return chunks.size(); }
+    /** Chunks produced by the source so far, reloads after eviction included. */
+    public long getLoads() { return loads; }
+    public long getEvictions() { return evictions; }
+
+    /** Walls at roughly {@code wallPercent}% of cells, the same for a given seed wherever they are produced. */
+    public static ChunkSource randomWalls(long seed, int wallPercent) {
+        long threshold = (long) (wallPercent / 100.0 * (1L << 32));
+        return (chunkX, chunkY, walls) -> {
+            long state = mix(seed ^ mix(((long) chunkX << 32) | (chunkY & 0xFFFFFFFFL)));
+            for (int y = 0; y < CHUNK_SIZE; y++) {
+                long row = 0;
+                for (int x = 0; x < CHUNK_SIZE; x++) {
+                    state += 0x9E3779B97F4A7C15L;
+                    if ((mix(state) >>> 32) < threshold) {
+                        row |= 1L << x;
+                    }
+                }
+                walls[y] = row;
+            }
+        };
+    }
+
+    /**
+     * The cells of {@code grid} with its top-left corner at (0, 0), walls everywhere
+     * else. With a read-only {@link MappedGridModel} only the chunks a search
+     * touches are ever read from the file.
+     */
+    public static ChunkSource fromGrid(GridModel grid) {
+        return (chunkX, chunkY, walls) -> {
+            for (int y = 0; y < CHUNK_SIZE; y++) {
+                int row = (chunkY << CHUNK_SHIFT) + y;
+                long bits = 0;
+                for (int x = 0; x < CHUNK_SIZE; x++) {
+                    int col = (chunkX << CHUNK_SHIFT) + x;
+                    if (!grid.inBounds(row, col) || grid.isWall(row, col)) {
+                        bits |= 1L << x;
+                    }
+                }
+                walls[y] = bits;
+            }
+        };
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,257 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Connected-component labels for the open cells of a {@link GridModel}, so a
+ * query between cells in different components can be rejected in O(1).
+ * Every open cell carries a component id; ids are merged through a small
+ * union-find, which makes erasing a wall a constant-time union. Adding a wall
+ * can split a component: that case runs one flood per open neighbour in
+ * lockstep, so the work is bounded by the smaller side of the split, and any
+ * region cut off is relabelled with a fresh id.
+ *
+ * The index does not observe the grid; callers report each edit after
+ * applying it to the model.
+ */
+public class ComponentIndex {
+    private static final int NONE = -1;
+    // The eight cells around a cell, clockwise from the top-left; odd entries are orthogonal
+    private static final int[] RING_ROWS = {-1, -1, -1, 0, 1, 1, 1, 0};
+    private static final int[] RING_COLS = {-1, 0, 1, 1, 1, 0, -1, -1};
+
+    private final GridModel grid;
+    private final int[] labels;
+    private int[] idParents = new int[64];
+    private int idCount;
+
+    // Split detection scratch: one growable flood per open neighbour of the new wall
+    private final int[] floodStamps;
+    private final byte[] floodOwners;
+    private int floodGeneration;
+    private final int[][] floodCells = new int[4][16];
+    private final int[] floodHeads = new int[4], floodTails = new int[4];
+    private final int[] groups = new int[4];
+    private final int[] neighbors = new int[4];
+
+    public ComponentIndex(GridModel grid) {
+        this.grid = grid;
+        this.labels = new int[grid.size()];
+        this.floodStamps = new int[grid.size()];
+        this.floodOwners = new byte[grid.size()];
+        rebuild();
+    }
+
+    /** Relabels every cell from scratch, e.g. after a bulk edit such as {@link GridModel#fillWalls}. */
+    public void rebuild() {
+        Arrays.fill(labels, NONE);
+        idCount = 0;
+        int[] stack = new int[Math.min(grid.size(), 1 << 16)];
+        for (int cell = 0; cell < labels.length; cell++) {
+            if (labels[cell] == NONE && !grid.isWall(cell)) {
+                stack = fill(cell, newId(), stack);
+            }
+        }
+    }
+
+    private int[] fill(int origin, int id, int[] stack) {
+        int top = 0;
+        labels[origin] = id;
+        stack[top++] = origin;
+        while (top > 0) {
+            int current = stack[--top];
+            int count = openNeighbors(current);
+            for (int i = 0; i < count; i++) {
+                int neighbor = neighbors[i];
+                if (labels[neighbor] != id) {
+                    labels[neighbor] = id;
+                    if (top == stack.length) stack = Arrays.copyOf(stack, top * 2);
+                    stack[top++] = neighbor;
+                }
+            }
+        }
+        return stack;
+    }
+
+    /** True when both cells are open and joined by a 4-connected path. */
+    public boolean connected(int a, int b) {
+        return labels[a] != NONE && labels[b] != NONE && find(labels[a]) == find(labels[b]);
+    }
+
+    /** Component id of an open cell, or -1 for a wall. Ids are only comparable until the next edit. */
+    public int componentOf(int cell) {
+        return labels[cell] == NONE ? NONE : find(labels[cell]);
+    }
+
+    /** Records that {@code cell} was just cleared in the grid. */
+    public void cellOpened(int cell) {
+        if (labels[cell] != NONE) return;
+        int id = NONE;
+        int count = openNeighbors(cell);
+        for (int i = 0; i < count; i++) {
+            int other = find(labels[neighbors[i]]);
+            if (id == NONE) {
+                id = other;
+            } else if (other != id) {
+                idParents[other] = id;
+            }
+        }
+        labels[cell] = id == NONE ? newId() : id;
+    }
+
+    /** Records that {@code cell} was just walled in the grid. */
+    public void cellClosed(int cell) {
+        if (labels[cell] == NONE) return;
+        labels[cell] = NONE;
+        if (!mayDisconnect(cell)) return;
+
+        // Too many ids accumulated from splits: a full relabel is cheaper than growing further
+        if (idCount + 4 > 2 * labels.length + 64) {
+            rebuild();
+            return;
+        }
+
+        int floods = openNeighbors(cell);
+        if (++floodGeneration == Integer.MAX_VALUE) {
+            Arrays.fill(floodStamps, 0);
+            floodGeneration = 1;
+        }
+        for (int i = 0; i < floods; i++) {
+            groups[i] = i;
+            floodHeads[i] = 0;
+            floodTails[i] = 0;
+            push(i, neighbors[i]);
+        }
+
+        // Grow all floods one cell at a time; floods that touch join a group,
+        // and a group that runs dry has enumerated a whole split-off component
+        int active = floods;
+        while (active > 1) {
+            for (int i = 0; i < floods && active > 1; i++) {
+                if (floodHeads[i] == floodTails[i]) continue;
+                int current = floodCells[i][floodHeads[i]++];
+                int count = openNeighbors(current);
+                for (int n = 0; n < count; n++) {
+                    int neighbor = neighbors[n];
+                    if (floodStamps[neighbor] != floodGeneration) {
+                        push(i, neighbor);
+                    } else {
+                        int mine = group(i), theirs = group(floodOwners[neighbor]);
+                        if (mine != theirs) {
+                            groups[theirs] = mine;
+                            active--;
+                        }
+                    }
+                }
+                if (floodHeads[i] == floodTails[i] && exhausted(group(i), floods)) {
+                    relabel(group(i), floods);
+                    active--;
+                }
+            }
+        }
+    }
+
+    // A new wall can only split its component when its open orthogonal neighbours
+    // are not already linked around it through the surrounding ring of eight cells
+    private boolean mayDisconnect(int cell) {
+        int row = grid.rowOf(cell), col = grid.colOf(cell);
+        int firstWall = -1;
+        for (int i = 0; i < 8; i++) {
+            if (!isOpen(row + RING_ROWS[i], col + RING_COLS[i])) {
+                firstWall = i;
+                break;
+            }
+        }
+        if (firstWall < 0) return false;
+
+        // Walk the ring from a wall and count runs of open cells holding an orthogonal neighbour
+        int runs = 0;
+        boolean inRun = false, runCounted = false;
+        for (int k = 1; k <= 8; k++) {
+            int i = (firstWall + k) & 7;
+            if (isOpen(row + RING_ROWS[i], col + RING_COLS[i])) {
+                if (!inRun) {
+                    inRun = true;
+                    runCounted = false;
+                }
+                if ((i & 1) == 1 && !runCounted) {
+                    runCounted = true;
+                    runs++;
+                }
+            } else {
+                inRun = false;
+            }
+        }
+        return runs > 1;
+    }
+
+    private boolean isOpen(int row, int col) {
+        return grid.inBounds(row, col) && !grid.isWall(row, col);
+    }
+
+    private boolean exhausted(int group, int floods) {
+        for (int i = 0; i < floods; i++) {
+            if (group(i) == group && floodHeads[i] < floodTails[i]) return false;
+        }
+        return true;
+    }
+
+    private void relabel(int group, int floods) {
+        int id = newId();
+        for (int i = 0; i < floods; i++) {
+            if (group(i) != group) continue;
+            int[] cells = floodCells[i];
+            for (int j = 0; j < floodTails[i]; j++) {
+                labels[cells[j]] = id;
+            }
+            floodHeads[i] = floodTails[i] = 0;
+        }
+        groups[group] = -1 - group;
+    }
+
+    // Exhausted groups are marked negative so they no longer count as matches
+    private int group(int flood) {
+        int g = flood;
+        while (groups[g] != g) {
+            if (groups[g] < 0) return groups[g];
+            g = groups[g];
+        }
+        return g;
+    }
+
+    private void push(int flood, int cell) {
+        floodStamps[cell] = floodGeneration;
+        floodOwners[cell] = (byte) flood;
+        if (floodTails[flood] == floodCells[flood].length) {
+            floodCells[flood] = Arrays.copyOf(floodCells[flood], floodTails[flood] * 2);
+        }
+        floodCells[flood][floodTails[flood]++] = cell;
+    }
+
+    private int openNeighbors(int cell) {
+        int width = grid.getWidth();
+        int row = cell / width, col = cell - row * width;
+        int count = 0;
+        if (row > 0 && !grid.isWall(cell - width)) neighbors[count++] = cell - width;
+        if (row < grid.getHeight() - 1 && !grid.isWall(cell + width)) neighbors[count++] = cell + width;
+        if (col > 0 && !grid.isWall(cell - 1)) neighbors[count++] = cell - 1;
+        if (col < width - 1 && !grid.isWall(cell + 1)) neighbors[count++] = cell + 1;
+        return count;
+    }
+
+    private int newId() {
+        if (idCount == idParents.length) {
+            idParents = Arrays.copyOf(idParents, idCount * 2);
+        }
+        idParents[idCount] = idCount;
+        return idCount++;
+    }
+
+    private int find(int id) {
+        while (idParents[id] != id) {
+            idParents[id] = idParents[idParents[id]];
+            id = idParents[id];
+        }
+        return id;
+    }
+}
@@ -0,0 +1,155 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+public class GridModel {
+    // contentHash of a grid of n cells that are all walls, by n
+    private static final Map<Integer, Long> ALL_WALLS_HASHES = new ConcurrentHashMap<>();
+
+    private final int width, height;
+    // Row-major wall bits; null for subclasses that keep walls elsewhere
+    final long[] walls;
+    // XOR of cellHash over every wall, kept up to date by each edit
+    long contentHash;
+    // Set by filling with walls, which would otherwise hash every cell; contentHash() recomputes it
+    private boolean hashStale;
+
+    public GridModel(int width, int height) {
+        this(width, height, new long[(int) ((checkSize(width, height) + 63) >>> 6)]);
+    }
+
+    GridModel(int width, int height, long[] walls) {
+        checkSize(width, height);
+        this.width = width;
+        this.height = height;
+        this.walls = walls;
+    }
+
+    static long checkSize(int width, int height) {
+        if (width <= 0 || height <= 0 || (long) width * height > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid grid size: " + width + "x" + height);
+        }
+        return (long) width * height;
+    }
+
+    private GridModel(GridModel other) {
+        this.width = other.width;
+        this.height = other.height;
+        this.walls = other.walls.clone();
+        this.contentHash = other.contentHash;
+        this.hashStale = other.hashStale;
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public int size() { return width * height; }
+
+    public int cellId(int row, int col) { return row * width + col; }
+    public int rowOf(int cell) { return cell / width; }
+    public int colOf(int cell) { return cell % width; }
+
+    public boolean inBounds(int row, int col) {
+        return row >= 0 && row < height && col >= 0 && col < width;
+    }
+
+    public boolean isWall(int cell) {
+        return (walls[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    public boolean isWall(int row, int col) {
+        return isWall(cellId(row, col));
+    }
+
+    public void setWall(int cell, boolean wall) {
+        if (isWall(cell) == wall) return;
+        if (!hashStale) {
+            contentHash ^= cellHash(cell);
+        }
+        if (wall) {
+            walls[cell >>> 6] |= 1L << cell;
+        } else {
+            walls[cell >>> 6] &= ~(1L << cell);
+        }
+    }
+
+    public void setWall(int row, int col, boolean wall) {
+        setWall(cellId(row, col), wall);
+    }
+
+    public void fillWalls(boolean wall) {
+        Arrays.fill(walls, wall ? -1L : 0L);
+        contentHash = 0;
+        hashStale = wall;
+    }
+
+    /**
+     * 64-bit hash of the wall layout, updated in O(1) per edit. Grids of the same
+     * size with the same walls hash equal, copies included, so it can key caches
+     * of results computed on snapshots. After a fill with walls the first call
+     * rehashes the remaining walls once.
+     */
+    public long contentHash() {
+        if (hashStale) {
+            long hash = 0;
+            for (int word = 0; word < walls.length; word++) {
+                for (long bits = walls[word]; bits != 0; bits &= bits - 1) {
+                    int cell = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    if (cell < size()) {
+                        hash ^= cellHash(cell);
+                    }
+                }
+            }
+            contentHash = hash;
+            hashStale = false;
+        }
+        return contentHash;
+    }
+
+    /** The content hash of a grid of {@code cells} cells that are all walls, computed once per size. */
+    static long allWallsHash(int cells) {
+        return ALL_WALLS_HASHES.computeIfAbsent(cells, n -> IntStream.range(0, n).parallel()
+                .mapToLong(GridModel::cellHash)
+                .reduce(0, (a, b) -> a ^ b));
+    }
+
+    static long cellHash(int cell) {
+        long z = (cell + 1L) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /** Calls {@code action} with every cell whose wall bit differs from {@code other}, which must be the same size. */
+    public void forEachChangedCell(GridModel other, IntConsumer action) {
+        if (other.width != width || other.height != height) {
+            throw new IllegalArgumentException("Grid sizes differ");
+        }
+        if (walls == null || other.walls == null) {
+            for (int cell = 0; cell < size(); cell++) {
+                if (isWall(cell) != other.isWall(cell)) {
+                    action.accept(cell);
+                }
+            }
+            return;
+        }
+        for (int word = 0; word < walls.length; word++) {
+            long changed = walls[word] ^ other.walls[word];
+            while (changed != 0) {
+                int cell = (word << 6) + Long.numberOfTrailingZeros(changed);
+                if (cell < size()) {
+                    action.accept(cell);
+                }
+                changed &= changed - 1;
+            }
+        }
+    }
+
+    // Searches run on a copy so edits made on the EDT never race with a running algorithm
+    public GridModel copy() {
+        return new GridModel(this);
+    }
+}
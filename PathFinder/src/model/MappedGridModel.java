@@ -0,0 +1,192 @@
+package model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A grid whose walls live in a memory-mapped file instead of the heap, so a map
+ * of a billion cells costs the heap a few fields and opens without reading it.
+ * Walls are bit-packed into 8x8 tiles, one long per tile, so a search touching
+ * nearby rows stays within the same few pages.
+ *
+ * File layout (little-endian): magic, version, width, height, content hash,
+ * reserved, then the tiles row by row. The content hash is kept current on
+ * every edit, so {@link #contentHash()} needs no scan after opening.
+ *
+ * A read-only grid is immutable, so {@link #copy()} returns it as is and
+ * searches run on the mapping directly. A writable grid copies onto the heap
+ * like any other grid.
+ */
+public final class MappedGridModel extends GridModel implements Closeable {
+    private static final int MAGIC = 0x4D474650; // "PFGM"
+    private static final int VERSION = 1;
+    private static final int HASH_OFFSET = 16;
+    private static final int HEADER_BYTES = 32;
+    private static final int TILE_SHIFT = 3;
+    private static final int TILE_MASK = (1 << TILE_SHIFT) - 1;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final boolean writable;
+    private final int tilesPerRow;
+
+    private MappedGridModel(FileChannel channel, MappedByteBuffer buffer, int width, int height,
+                            boolean writable) {
+        super(width, height, null);
+        this.channel = channel;
+        this.buffer = buffer;
+        this.writable = writable;
+        this.tilesPerRow = (width + TILE_MASK) >>> TILE_SHIFT;
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        this.contentHash = buffer.getLong(HASH_OFFSET);
+    }
+
+    /** Creates (or truncates) {@code file} as an all-open grid and maps it for writing. */
+    public static MappedGridModel create(Path file, int width, int height) throws IOException {
+        checkSize(width, height);
+        long bytes = fileBytes(width, height);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(8, width);
+            buffer.putInt(12, height);
+            return new MappedGridModel(channel, buffer, width, height, true);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /** Maps an existing grid file; only the header is read. */
+    public static MappedGridModel open(Path file, boolean writable) throws IOException {
+        FileChannel channel = writable
+                ? FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Not a grid file: " + file);
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IOException("Not a grid file: " + file);
+            }
+            int width = header.getInt(8), height = header.getInt(12);
+            checkSize(width, height);
+            long bytes = fileBytes(width, height);
+            if (channel.size() < bytes) {
+                throw new IOException("Grid file is truncated: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(
+                    writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY, 0, bytes);
+            return new MappedGridModel(channel, buffer, width, height, writable);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static long fileBytes(int width, int height) {
+        long tiles = (long) ((width + TILE_MASK) >>> TILE_SHIFT) * ((height + TILE_MASK) >>> TILE_SHIFT);
+        return HEADER_BYTES + tiles * Long.BYTES;
+    }
+
+    public boolean isWritable() { return writable; }
+
+    @Override
+    public boolean isWall(int cell) {
+        int width = getWidth();
+        int row = cell / width;
+        return isWall(row, cell - row * width);
+    }
+
+    @Override
+    public boolean isWall(int row, int col) {
+        return (buffer.getLong(tileOffset(row, col)) & tileBit(row, col)) != 0;
+    }
+
+    @Override
+    public void setWall(int cell, boolean wall) {
+        int width = getWidth();
+        int row = cell / width;
+        setWall(row, cell - row * width, wall);
+    }
+
+    @Override
+    public void setWall(int row, int col, boolean wall) {
+        checkWritable();
+        int offset = tileOffset(row, col);
+        long tile = buffer.getLong(offset);
+        long bit = tileBit(row, col);
+        if (((tile & bit) != 0) == wall) return;
+        buffer.putLong(offset, tile ^ bit);
+        contentHash ^= cellHash(cellId(row, col));
+        buffer.putLong(HASH_OFFSET, contentHash);
+    }
+
+    @Override
+    public void fillWalls(boolean wall) {
+        checkWritable();
+        for (int offset = HEADER_BYTES; offset < buffer.capacity(); offset += Long.BYTES) {
+            buffer.putLong(offset, wall ? -1L : 0L);
+        }
+        contentHash = wall ? allWallsHash(size()) : 0;
+        buffer.putLong(HASH_OFFSET, contentHash);
+    }
+
+    /** This grid itself when read-only, since nothing can change it; otherwise an on-heap copy. */
+    @Override
+    public GridModel copy() {
+        if (!writable) {
+            return this;
+        }
+        GridModel copy = new GridModel(getWidth(), getHeight());
+        for (int cell = 0; cell < size(); cell++) {
+            if (isWall(cell)) {
+                copy.walls[cell >>> 6] |= 1L << cell;
+            }
+        }
+        copy.contentHash = contentHash;
+        return copy;
+    }
+
+    /** Writes pending edits through to the file. */
+    public void flush() {
+        if (writable) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * Flushes and closes the file. The mapping itself is released only once the
+     * grid is garbage collected, so do not keep using the grid after closing it.
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+
+    private int tileOffset(int row, int col) {
+        return HEADER_BYTES + (((row >>> TILE_SHIFT) * tilesPerRow + (col >>> TILE_SHIFT)) << 3);
+    }
+
+    private static long tileBit(int row, int col) {
+        return 1L << (((row & TILE_MASK) << TILE_SHIFT) | (col & TILE_MASK));
+    }
+
+    private void checkWritable() {
+        if (!writable) {
+            throw new UnsupportedOperationException("Grid is mapped read-only");
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package algorithms;
+
+import model.GridModel;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Checks that a batch of D* Lite queries, which keeps state between queries,
+ * runs on several workers, returns the same shortest path lengths as A*, and
+ * leaves a search running on the shared instance alone. Plain main, as the
+ * project has no test framework; exits non-zero on failure.
+ */
+public class BatchQueryEngineTest {
+    public static void main(String[] args) {
+        Random random = new Random(7);
+        GridModel grid = new GridModel(120, 90);
+        for (int cell = 0; cell < grid.size(); cell++) {
+            grid.setWall(cell, random.nextInt(100) < 25);
+        }
+        int[][] queries = new int[400][];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = new int[]{random.nextInt(grid.size()), random.nextInt(grid.size())};
+            grid.setWall(queries[i][0], false);
+            grid.setWall(queries[i][1], false);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            BatchQueryEngine engine = new BatchQueryEngine(grid, pool);
+            int[][] expected = engine.run(AStarAlgorithm.getInstance(), queries);
+            int reachable = 0;
+            while (expected[reachable] == null) {
+                reachable++;
+            }
+            SearchStepper shared = DStarLiteAlgorithm.getInstance().stepper(
+                    engine.getGrid(), queries[reachable][0], queries[reachable][1], null);
+
+            int[][] actual = engine.run(DStarLiteAlgorithm.getInstance(), queries);
+            for (int i = 0; i < queries.length; i++) {
+                if ((expected[i] == null) != (actual[i] == null)
+                        || (actual[i] != null && (actual[i].length != expected[i].length
+                        || actual[i][0] != queries[i][0] || actual[i][actual[i].length - 1] != queries[i][1]))) {
+                    throw new AssertionError("D* Lite batch disagrees with A* on query " + i);
+                }
+            }
+
+            shared.step(Integer.MAX_VALUE);
+            if (shared.getPath() == null) {
+                throw new AssertionError("Batch superseded a search on the shared D* Lite instance");
+            }
+        } finally {
+            pool.shutdown();
+        }
+        System.out.println("BatchQueryEngineTest passed");
+    }
+}
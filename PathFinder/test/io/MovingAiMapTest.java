@@ -0,0 +1,41 @@
+package io;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Checks that malformed Moving AI headers are rejected as {@link IOException}s,
+ * which the visualizer reports in a dialog, rather than as unchecked exceptions
+ * from the grid. Plain main, as the project has no test framework; exits
+ * non-zero on failure.
+ */
+public class MovingAiMapTest {
+    public static void main(String[] args) throws IOException {
+        rejects("type octile\nheight 0\nwidth 4\nmap\n");
+        rejects("type octile\nheight 4\nwidth 0\nmap\n");
+        rejects("type octile\nheight -3\nwidth 4\nmap\n");
+        rejects("type octile\nheight 65536\nwidth 65536\nmap\n");
+        rejects("type octile\nwidth 4\nmap\n");
+
+        if (!read("type octile\nheight 2\nwidth 3\nmap\n.@.\n...\n").isWall(0, 1)) {
+            throw new AssertionError("Valid map read wrongly");
+        }
+        System.out.println("MovingAiMapTest passed");
+    }
+
+    private static void rejects(String map) {
+        try {
+            read(map);
+        } catch (IOException expected) {
+            return;
+        }
+        throw new AssertionError("Accepted bad header: " + map.replace('\n', ' '));
+    }
+
+    private static model.GridModel read(String map) throws IOException {
+        return MovingAiMap.read(Channels.newChannel(
+                new ByteArrayInputStream(map.getBytes(StandardCharsets.US_ASCII))));
+    }
+}